@@ -0,0 +1,178 @@
+package com.lab.banco;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BalanceArithmeticBenchmark {
+
+    private static final long INITIAL_BALANCE_CENTS = 100_000_000_000L;
+
+    @Param({"8"})
+    private int slotCount;
+
+    @Param({"500"})
+    private int chunkSize;
+
+    private Account origin;
+    private Account destination;
+    private Money amount;
+    private Money[] slotBalances;
+    private Map<Long, Account> chunkAccounts;
+    private List<TransferRequest> chunk;
+
+    private BigDecimal decimalOrigin;
+    private BigDecimal decimalDestination;
+    private BigDecimal decimalAmount;
+    private BigDecimal[] decimalSlotBalances;
+    private Map<Long, BigDecimal[]> decimalChunkAccounts;
+    private List<BigDecimal> decimalChunkAmounts;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        origin = account(1L);
+        destination = account(2L);
+        amount = Money.ofCents(12_345);
+        decimalOrigin = BigDecimal.valueOf(INITIAL_BALANCE_CENTS, Money.SCALE);
+        decimalDestination = BigDecimal.valueOf(INITIAL_BALANCE_CENTS, Money.SCALE);
+        decimalAmount = amount.toBigDecimal();
+
+        slotBalances = new Money[slotCount];
+        decimalSlotBalances = new BigDecimal[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            slotBalances[i] = Money.ofCents(125_010 + i * 100L);
+            decimalSlotBalances[i] = slotBalances[i].toBigDecimal();
+        }
+
+        SplittableRandom random = new SplittableRandom(42);
+        chunkAccounts = new HashMap<>();
+        decimalChunkAccounts = new HashMap<>();
+        for (long id = 1; id <= 100; id++) {
+            chunkAccounts.put(id, account(id));
+            decimalChunkAccounts.put(id, new BigDecimal[]{BigDecimal.valueOf(INITIAL_BALANCE_CENTS, Money.SCALE)});
+        }
+
+        chunk = new ArrayList<>(chunkSize);
+        decimalChunkAmounts = new ArrayList<>(chunkSize);
+        for (int i = 0; i < chunkSize; i++) {
+            long originId = random.nextLong(1, 101);
+            long destinationId = originId % 100 + 1;
+            Money requestAmount = Money.ofCents(random.nextInt(1, 100_000));
+            chunk.add(new TransferRequest(originId, destinationId, requestAmount, TransferCategory.MOCK));
+            decimalChunkAmounts.add(requestAmount.toBigDecimal());
+        }
+    }
+
+    @Benchmark
+    public Money moveBalanceMoney() {
+        if (origin.getBalance().isLessThan(amount)) {
+            throw new InsufficientBalanceException("Insufficient balance");
+        }
+
+        origin.setBalance(origin.getBalance().minus(amount));
+        destination.setBalance(destination.getBalance().plus(amount));
+
+        Account previousOrigin = origin;
+        origin = destination;
+        destination = previousOrigin;
+        return origin.getBalance();
+    }
+
+    @Benchmark
+    public BigDecimal moveBalanceBigDecimal() {
+        if (decimalOrigin.compareTo(decimalAmount) < 0) {
+            throw new InsufficientBalanceException("Insufficient balance");
+        }
+
+        BigDecimal previousOrigin = decimalOrigin.subtract(decimalAmount);
+        decimalOrigin = decimalDestination.add(decimalAmount);
+        decimalDestination = previousOrigin;
+        return decimalOrigin;
+    }
+
+    @Benchmark
+    public Money logicalBalanceMoney() {
+        Money total = origin.getBalance();
+        for (Money slotBalance : slotBalances) {
+            total = total.plus(slotBalance);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal logicalBalanceBigDecimal() {
+        BigDecimal total = decimalOrigin;
+        for (BigDecimal slotBalance : decimalSlotBalances) {
+            total = total.add(slotBalance);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public int applyChunkMoney() {
+        int committed = 0;
+        for (TransferRequest request : chunk) {
+            Account from = chunkAccounts.get(request.originAccountId());
+            Account to = chunkAccounts.get(request.destinationAccountId());
+            if (from == null || to == null || request.amount().signum() <= 0) {
+                continue;
+            }
+
+            if (from.getBalance().isLessThan(request.amount())) {
+                continue;
+            }
+
+            from.setBalance(from.getBalance().minus(request.amount()));
+            to.setBalance(to.getBalance().plus(request.amount()));
+            committed++;
+        }
+        return committed;
+    }
+
+    @Benchmark
+    public int applyChunkBigDecimal() {
+        int committed = 0;
+        for (int i = 0; i < chunk.size(); i++) {
+            TransferRequest request = chunk.get(i);
+            BigDecimal requestAmount = decimalChunkAmounts.get(i);
+            BigDecimal[] from = decimalChunkAccounts.get(request.originAccountId());
+            BigDecimal[] to = decimalChunkAccounts.get(request.destinationAccountId());
+            if (from == null || to == null || requestAmount.signum() <= 0) {
+                continue;
+            }
+
+            if (from[0].compareTo(requestAmount) < 0) {
+                continue;
+            }
+
+            from[0] = from[0].subtract(requestAmount);
+            to[0] = to[0].add(requestAmount);
+            committed++;
+        }
+        return committed;
+    }
+
+    private static Account account(long id) {
+        Account account = new Account();
+        account.setId(id);
+        account.setName("account-" + id);
+        account.setBalance(Money.ofCents(INITIAL_BALANCE_CENTS));
+        return account;
+    }
+}
@@ -0,0 +1,74 @@
+package com.lab.banco;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.LoggerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConsistencyIssueBenchmark {
+
+    private static final int CAPACITY = 200;
+    private static final long LOG_INTERVAL_MS = 60_000;
+
+    private ConsistencyIssueStore store;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        store = new ConsistencyIssueStore(
+                CAPACITY, LOG_INTERVAL_MS, LoggerFactory.getLogger(ConsistencyMonitorService.class), new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void addIssueUncontended() {
+        store.record("BENCHMARK_ISSUE", "low", null, () -> "Benchmark issue");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void addIssueFourThreads() {
+        store.record("BENCHMARK_ISSUE", "low", null, () -> "Benchmark issue");
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void addIssueSixteenThreads() {
+        store.record("BENCHMARK_ISSUE", "low", null, () -> "Benchmark issue");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void addIssueDistinctSubjects() {
+        long accountId = ThreadLocalRandom.current().nextLong(1_000);
+        store.record("BENCHMARK_ISSUE", "low", "account:" + accountId, () -> "Benchmark issue");
+    }
+
+    @Benchmark
+    @Group("readWhileRecording")
+    @GroupThreads(1)
+    public void recordDuringReads() {
+        store.record("BENCHMARK_ISSUE", "low", null, () -> "Benchmark issue");
+    }
+
+    @Benchmark
+    @Group("readWhileRecording")
+    @GroupThreads(4)
+    public List<ConsistencyMonitorService.ConsistencyIssue> readRecentIssues() {
+        return store.recent();
+    }
+}
@@ -0,0 +1,203 @@
+package com.lab.banco;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipFile;
+
+public final class StartupBenchmark {
+
+    private static final Pattern STARTED = Pattern.compile("Started \\S+ in ([0-9.]+) seconds");
+    private static final String AOT_INITIALIZER = "BOOT-INF/classes/com/lab/banco/LabBancoAppApplication__ApplicationContextInitializer.class";
+    private static final Duration READY_TIMEOUT = Duration.ofMinutes(3);
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(20);
+
+    private final Path jar;
+    private final Path workDir;
+    private final int runs;
+    private final int port;
+    private final String java;
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    private StartupBenchmark(Path jar, Path workDir, int runs, int port) {
+        this.jar = jar;
+        this.workDir = workDir;
+        this.runs = runs;
+        this.port = port;
+        this.java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path jar = Path.of(System.getProperty("startup.jar", "target/lab-banco-app-0.0.1-SNAPSHOT.jar"));
+        Path workDir = Path.of(System.getProperty("startup.work-dir", "target/startup-benchmark"));
+        int runs = Integer.getInteger("startup.runs", 3);
+        int port = Integer.getInteger("startup.port", 18090);
+        new StartupBenchmark(jar, workDir, runs, port).run();
+    }
+
+    private void run() throws Exception {
+        Path application = extract();
+        boolean aot = hasAotInitializer();
+        List<Mode> modes = new ArrayList<>();
+        modes.add(new Mode("default", List.of()));
+        modes.add(new Mode("cds", List.of("-XX:SharedArchiveFile=" + train(application, false))));
+        if (aot) {
+            modes.add(new Mode("aot", List.of("-Dspring.aot.enabled=true")));
+            modes.add(new Mode("aot+cds", List.of(
+                    "-Dspring.aot.enabled=true",
+                    "-XX:SharedArchiveFile=" + train(application, true))));
+        } else {
+            System.out.println("Jar was built without -Paot; skipping aot modes");
+        }
+
+        List<String> rows = new ArrayList<>();
+        for (Mode mode : modes) {
+            long[] ready = new long[runs];
+            long[] started = new long[runs];
+            long[] firstRequest = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                Sample sample = measure(application, mode, i);
+                ready[i] = sample.readyMs();
+                started[i] = sample.springStartedMs();
+                firstRequest[i] = sample.firstRequestMs();
+                System.out.printf("%-8s run %d: ready=%dms springStarted=%dms firstRequest=%dms%n",
+                        mode.name(), i + 1, sample.readyMs(), sample.springStartedMs(), sample.firstRequestMs());
+            }
+            rows.add(String.format("%-8s %12d %18d %18d",
+                    mode.name(), median(ready), median(started), median(firstRequest)));
+        }
+
+        System.out.printf("%n%-8s %12s %18s %18s%n", "mode", "ready(ms)", "springStarted(ms)", "firstRequest(ms)");
+        rows.forEach(System.out::println);
+    }
+
+    private Path extract() throws IOException, InterruptedException {
+        Path destination = workDir.resolve("extracted");
+        exec(workDir.resolve("extract.log"),
+                java, "-Djarmode=tools", "-jar", jar.toString(), "extract", "--force", "--destination", destination.toString());
+        return destination.resolve(jar.getFileName());
+    }
+
+    private Path train(Path application, boolean aot) throws IOException, InterruptedException {
+        Path archive = workDir.resolve(aot ? "app-aot.jsa" : "app.jsa").toAbsolutePath();
+        List<String> command = new ArrayList<>(List.of(
+                java,
+                "-XX:ArchiveClassesAtExit=" + archive,
+                "-Dspring.context.exit=onRefresh",
+                "-Dspring.profiles.active=cds-training"));
+        if (aot) {
+            command.add("-Dspring.aot.enabled=true");
+        }
+        command.addAll(List.of("-jar", application.toString()));
+        exec(workDir.resolve(aot ? "train-aot.log" : "train.log"), command.toArray(String[]::new));
+        return archive;
+    }
+
+    private Sample measure(Path application, Mode mode, int run) throws Exception {
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.addAll(mode.jvmArgs());
+        command.addAll(List.of("-jar", application.toString(), "--server.port=" + port));
+        Path log = workDir.resolve(mode.name().replace('+', '-') + "-" + (run + 1) + ".log");
+
+        long launchedAt = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            awaitReady(process);
+            long readyMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - launchedAt);
+
+            long requestStartedAt = System.nanoTime();
+            HttpResponse<Void> response = get("/transfers/all");
+            long firstRequestMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - requestStartedAt);
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("First request returned " + response.statusCode() + ", see " + log);
+            }
+            return new Sample(readyMs, springStartedMs(log), firstRequestMs);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private void awaitReady(Process process) throws InterruptedException {
+        long deadline = System.nanoTime() + READY_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with code " + process.exitValue());
+            }
+            if (isReady()) {
+                return;
+            }
+            Thread.sleep(POLL_INTERVAL.toMillis());
+        }
+        throw new IllegalStateException("Application not ready after " + READY_TIMEOUT);
+    }
+
+    private boolean isReady() throws InterruptedException {
+        try {
+            return get("/actuator/health/readiness").statusCode() == 200;
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
+    private HttpResponse<Void> get(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding());
+    }
+
+    private boolean hasAotInitializer() throws IOException {
+        try (ZipFile zip = new ZipFile(jar.toFile())) {
+            return zip.getEntry(AOT_INITIALIZER) != null;
+        }
+    }
+
+    private static long springStartedMs(Path log) throws IOException {
+        Matcher matcher = STARTED.matcher(Files.readString(log));
+        return matcher.find() ? Math.round(Double.parseDouble(matcher.group(1)) * 1000) : -1;
+    }
+
+    private void exec(Path log, String... command) throws IOException, InterruptedException {
+        Files.createDirectories(workDir);
+        int exitCode = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start()
+                .waitFor();
+        if (exitCode != 0) {
+            throw new IllegalStateException(String.join(" ", command) + " failed with " + exitCode + ", see " + log);
+        }
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private record Mode(String name, List<String> jvmArgs) {
+    }
+
+    private record Sample(long readyMs, long springStartedMs, long firstRequestMs) {
+    }
+}
@@ -0,0 +1,113 @@
+package com.lab.banco;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TransferResponseMapperBenchmark {
+
+    @Param({"50", "500"})
+    private int transferCount;
+
+    @Param({"2", "1000"})
+    private int accountCount;
+
+    private List<Account> accounts;
+    private List<TransferTransaction> transfers;
+    private AccountRepository accountRepository;
+    private TransferResponseMapper mapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        accounts = new ArrayList<>(accountCount);
+        for (long id = 1; id <= accountCount; id++) {
+            Account account = new Account();
+            account.setId(id);
+            account.setName("account-" + id);
+            account.setBalance(Money.ZERO);
+            accounts.add(account);
+        }
+
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDateTime occurredAt = LocalDateTime.now();
+        transfers = new ArrayList<>(transferCount);
+        for (long id = 1; id <= transferCount; id++) {
+            TransferTransaction transfer = new TransferTransaction();
+            transfer.setId(id);
+            transfer.setOriginAccountId(random.nextLong(1, accountCount + 1L));
+            transfer.setDestinationAccountId(random.nextLong(1, accountCount + 1L));
+            transfer.setAmount(Money.ofCents(random.nextInt(1, 100_000)));
+            transfer.setOccurredAt(occurredAt.minusNanos(id * 1000));
+            transfer.setCategory(TransferCategory.MOCK);
+            transfers.add(transfer);
+        }
+
+        accountRepository = inMemoryRepository(accounts);
+        mapper = new TransferResponseMapper(new AccountMetadataCache(accountRepository, 10_000, 600_000));
+        mapper.map(transfers);
+    }
+
+    @Benchmark
+    public List<TransactionController.TransferResponse> mapWithMetadataCache() {
+        return mapper.map(transfers);
+    }
+
+    @Benchmark
+    public List<TransactionController.TransferResponse> mapWithCollectorsToMap() {
+        Set<Long> accountIds = new HashSet<>();
+        for (TransferTransaction transfer : transfers) {
+            accountIds.add(transfer.getOriginAccountId());
+            accountIds.add(transfer.getDestinationAccountId());
+        }
+
+        Map<Long, String> accountNamesById = accountRepository.findAllById(accountIds)
+                .stream()
+                .collect(Collectors.toMap(Account::getId, Account::getName));
+
+        return transfers.stream()
+                .map(transfer -> new TransactionController.TransferResponse(
+                        transfer.getId(),
+                        transfer.getOriginAccountId(),
+                        accountNamesById.getOrDefault(transfer.getOriginAccountId(), "Unknown"),
+                        transfer.getDestinationAccountId(),
+                        accountNamesById.getOrDefault(transfer.getDestinationAccountId(), "Unknown"),
+                        transfer.getAmount(),
+                        transfer.getOccurredAt(),
+                        transfer.getCategory()))
+                .toList();
+    }
+
+    private static AccountRepository inMemoryRepository(List<Account> accounts) {
+        return (AccountRepository) Proxy.newProxyInstance(
+                AccountRepository.class.getClassLoader(),
+                new Class<?>[]{AccountRepository.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("findAllById")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+
+                    Set<Object> ids = new HashSet<>();
+                    ((Iterable<?>) args[0]).forEach(ids::add);
+                    return accounts.stream().filter(account -> ids.contains(account.getId())).toList();
+                });
+    }
+}
@@ -0,0 +1,123 @@
+package com.lab.banco;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TransferServiceBenchmark {
+
+    private static final Money INITIAL_BALANCE = Money.ofUnits(1_000_000_000L);
+    private static final Money AMOUNT = Money.ofUnits(1);
+    private static final int BATCH_SIZE = 100;
+
+    @Param({"unsafe", "optimistic", "pessimistic", "atomic", "ledger"})
+    private String strategy;
+
+    private String schema;
+    private ConfigurableApplicationContext context;
+    private TransferService transferService;
+    private Long originId;
+    private Long destinationId;
+    private List<TransferRequest> batch;
+    private boolean forward;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        schema = "benchmark_" + System.nanoTime();
+        context = new SpringApplicationBuilder(LabBancoAppApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.flyway.schemas=" + schema,
+                        "spring.datasource.hikari.schema=" + schema,
+                        "app.datasource.routing-enabled=false",
+                        "app.cluster.enabled=false",
+                        "app.transfer-partitions.enabled=false",
+                        "app.outbox.relay.enabled=false",
+                        "app.load-generator.enabled=false",
+                        "app.transfer.concurrency-strategy=" + strategy,
+                        "app.mock-transfer.initial-delay-ms=86400000",
+                        "app.consistency-check.initial-delay-ms=86400000",
+                        "app.balance-striping.initial-delay-ms=86400000",
+                        "spring.jpa.show-sql=false")
+                .run();
+        transferService = context.getBean(TransferService.class);
+
+        AccountRepository accountRepository = context.getBean(AccountRepository.class);
+        originId = accountRepository.save(benchmarkAccount("origin")).getId();
+        destinationId = accountRepository.save(benchmarkAccount("destination")).getId();
+
+        batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(i % 2 == 0
+                    ? new TransferRequest(originId, destinationId, AMOUNT, TransferCategory.MOCK)
+                    : new TransferRequest(destinationId, originId, AMOUNT, TransferCategory.MOCK));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        HikariDataSource writer = context.getBean("writerDataSource", HikariDataSource.class);
+        new JdbcTemplate(writer).update("DELETE FROM accounts WHERE id IN (?, ?)", originId, destinationId);
+        DriverManagerDataSource admin = new DriverManagerDataSource(
+                writer.getJdbcUrl(), writer.getUsername(), writer.getPassword());
+        context.close();
+        new JdbcTemplate(admin).execute("DROP SCHEMA IF EXISTS " + schema + " CASCADE");
+    }
+
+    @Benchmark
+    public void transfer() {
+        forward = !forward;
+        if (forward) {
+            transferService.transfer(originId, destinationId, AMOUNT, TransferCategory.MOCK);
+        } else {
+            transferService.transfer(destinationId, originId, AMOUNT, TransferCategory.MOCK);
+        }
+    }
+
+    @Benchmark
+    public List<TransferResult> transferBatch() {
+        return transferService.transferBatch(batch);
+    }
+
+    @Benchmark
+    public boolean rejectInvalidAmount() {
+        try {
+            transferService.transfer(originId, destinationId, Money.ZERO, TransferCategory.MOCK);
+            return false;
+        } catch (IllegalArgumentException ex) {
+            return true;
+        }
+    }
+
+    private static Account benchmarkAccount(String role) {
+        Account account = new Account();
+        account.setName("benchmark-" + role + "-" + System.nanoTime());
+        account.setBalance(INITIAL_BALANCE);
+        return account;
+    }
+}
@@ -0,0 +1,40 @@
+package com.lab.banco;
+
+import java.math.BigDecimal;
+import java.util.List;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface AccountBalanceSlotRepository extends JpaRepository<AccountBalanceSlot, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from AccountBalanceSlot s where s.accountId = :accountId order by s.slot")
+    List<AccountBalanceSlot> findByAccountIdForUpdate(@Param("accountId") Long accountId);
+
+    @Query(value = "SELECT COALESCE(SUM(s.balance), 0) FROM account_balance_slots s WHERE s.account_id = :accountId",
+            nativeQuery = true)
+    BigDecimal sumBalance(@Param("accountId") Long accountId);
+
+    @Query("select s.accountId, count(s) from AccountBalanceSlot s group by s.accountId")
+    List<Object[]> countSlotsByAccount();
+
+    @Modifying
+    @Query("update AccountBalanceSlot s set s.balance = s.balance - :amount "
+            + "where s.accountId = :accountId and s.slot = :slot and s.balance >= :amount")
+    int debitIfSufficient(
+            @Param("accountId") Long accountId,
+            @Param("slot") int slot,
+            @Param("amount") Money amount);
+
+    @Modifying
+    @Query("update AccountBalanceSlot s set s.balance = s.balance + :amount "
+            + "where s.accountId = :accountId and s.slot = :slot")
+    int credit(
+            @Param("accountId") Long accountId,
+            @Param("slot") int slot,
+            @Param("amount") Money amount);
+}
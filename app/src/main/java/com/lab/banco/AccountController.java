@@ -0,0 +1,19 @@
+package com.lab.banco;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class AccountController {
+
+    private final AccountMetadataCache accountMetadataCache;
+
+    public AccountController(AccountMetadataCache accountMetadataCache) {
+        this.accountMetadataCache = accountMetadataCache;
+    }
+
+    @GetMapping("/accounts/cache/stats")
+    public AccountMetadataCache.AccountCacheStats accountCacheStats() {
+        return accountMetadataCache.getStats();
+    }
+}
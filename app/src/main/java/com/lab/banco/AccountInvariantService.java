@@ -0,0 +1,267 @@
+package com.lab.banco;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class AccountInvariantService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AccountInvariantService.class);
+    private static final int MAX_REPORTED_ACCOUNTS = 10;
+    private static final long UNKNOWN_BASE = Long.MIN_VALUE;
+
+    private final AccountRepository accountRepository;
+    private final AccountTransferTotalsRepository totalsRepository;
+    private final AccountTransferTotalsService totalsService;
+    private final LedgerService ledgerService;
+    private final TransactionTemplate readOnlyTemplate;
+    private final boolean enabled;
+    private final long rangeSize;
+    private final int parallelism;
+    private final long checkIntervalMs;
+    private final ExecutorService executor;
+    private final Map<Long, RangeBaseline> baselines = new ConcurrentHashMap<>();
+
+    private volatile long baselineGeneration = -1;
+    private volatile PassResult lastPass;
+
+    public AccountInvariantService(
+            AccountRepository accountRepository,
+            AccountTransferTotalsRepository totalsRepository,
+            AccountTransferTotalsService totalsService,
+            LedgerService ledgerService,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.account-invariants.enabled:true}") boolean enabled,
+            @Value("${app.account-invariants.range-size:50000}") long rangeSize,
+            @Value("${app.account-invariants.parallelism:4}") int parallelism,
+            @Value("${app.consistency-check.fixed-rate-ms:3000}") long checkIntervalMs) {
+        this.accountRepository = accountRepository;
+        this.totalsRepository = totalsRepository;
+        this.totalsService = totalsService;
+        this.ledgerService = ledgerService;
+        this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate.setReadOnly(true);
+        this.enabled = enabled;
+        this.rangeSize = Math.max(1, rangeSize);
+        this.parallelism = Math.max(1, parallelism);
+        this.checkIntervalMs = checkIntervalMs;
+        this.executor = Executors.newFixedThreadPool(this.parallelism, workerThreadFactory());
+    }
+
+    public boolean isEnabled() {
+        return enabled && totalsService.isEnabled();
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    void resetBaselines() {
+        baselines.clear();
+        baselineGeneration = -1;
+    }
+
+    PassResult check() {
+        long startedAt = System.nanoTime();
+        long generation = totalsService.generation();
+        boolean baselineReset = generation != baselineGeneration;
+        if (baselineReset) {
+            baselines.clear();
+            baselineGeneration = generation;
+        }
+
+        long minId = accountRepository.findMinId();
+        long maxId = accountRepository.findMaxId();
+        boolean ledger = ledgerService.isEnabled();
+        List<CompletableFuture<RangeResult>> ranges = new ArrayList<>();
+        Set<Long> rangeStarts = new HashSet<>();
+        if (maxId > 0) {
+            for (long from = Math.floorDiv(minId, rangeSize) * rangeSize; from <= maxId; from += rangeSize) {
+                long rangeFrom = from;
+                rangeStarts.add(rangeFrom);
+                ranges.add(CompletableFuture.supplyAsync(() -> checkRange(rangeFrom, ledger), executor));
+            }
+        }
+        baselines.keySet().retainAll(rangeStarts);
+        Money netFlow = Money.of(totalsRepository.sumNetFlow());
+
+        RangeResult total = new RangeResult();
+        for (CompletableFuture<RangeResult> range : ranges) {
+            total.merge(range.join());
+        }
+
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        PassResult pass = new PassResult(
+                total.accounts,
+                ranges.size(),
+                total.mismatchedAccounts,
+                List.copyOf(total.mismatches),
+                total.negativeAccounts,
+                List.copyOf(total.negativeBalances),
+                total.nullBalanceAccounts,
+                List.copyOf(total.nullBalanceIds),
+                Money.ofCents(total.driftCents),
+                netFlow,
+                baselineReset,
+                durationMs,
+                durationMs <= checkIntervalMs,
+                LocalDateTime.now());
+        lastPass = pass;
+        if (!pass.withinInterval()) {
+            LOG.warn("Account invariant pass over {} account(s) took {} ms, longer than the {} ms check interval",
+                    total.accounts, durationMs, checkIntervalMs);
+        }
+        return pass;
+    }
+
+    public InvariantStats getStats() {
+        return new InvariantStats(isEnabled(), rangeSize, parallelism, baselines.size(), lastPass);
+    }
+
+    private RangeResult checkRange(long from, boolean ledger) {
+        List<Object[]> rows = readOnlyTemplate.execute(
+                status -> totalsRepository.findInvariantBases(from, from + rangeSize - 1, ledger));
+        int size = rows.size();
+        long[] ids = new long[size];
+        long[] bases = new long[size];
+        RangeBaseline baseline = baselines.get(from);
+        RangeResult result = new RangeResult();
+        int cursor = 0;
+        for (int i = 0; i < size; i++) {
+            Object[] row = rows.get(i);
+            long id = ((Number) row[0]).longValue();
+            long expected = UNKNOWN_BASE;
+            if (baseline != null) {
+                while (cursor < baseline.ids.length && baseline.ids[cursor] < id) {
+                    cursor++;
+                }
+                if (cursor < baseline.ids.length && baseline.ids[cursor] == id) {
+                    expected = baseline.bases[cursor];
+                }
+            }
+
+            ids[i] = id;
+            bases[i] = expected;
+            result.accounts++;
+            if (row[1] == null) {
+                result.nullBalanceAccounts++;
+                if (result.nullBalanceIds.size() < MAX_REPORTED_ACCOUNTS) {
+                    result.nullBalanceIds.add(id);
+                }
+                continue;
+            }
+
+            long balance = ((Number) row[1]).longValue();
+            if (balance < 0) {
+                result.negativeAccounts++;
+                if (result.negativeBalances.size() < MAX_REPORTED_ACCOUNTS) {
+                    result.negativeBalances.add(new AccountBalance(id, Money.ofCents(balance)));
+                }
+            }
+
+            long base = ((Number) row[2]).longValue();
+            if (expected == UNKNOWN_BASE) {
+                bases[i] = base;
+            } else if (expected != base) {
+                long delta = Math.subtractExact(base, expected);
+                result.driftCents = Math.addExact(result.driftCents, delta);
+                result.mismatchedAccounts++;
+                if (result.mismatches.size() < MAX_REPORTED_ACCOUNTS) {
+                    result.mismatches.add(new AccountBalance(id, Money.ofCents(delta)));
+                }
+            }
+        }
+        baselines.put(from, new RangeBaseline(ids, bases));
+        return result;
+    }
+
+    private static ThreadFactory workerThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "account-invariant-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record RangeBaseline(long[] ids, long[] bases) {
+    }
+
+    private static final class RangeResult {
+        private final List<AccountBalance> mismatches = new ArrayList<>();
+        private final List<AccountBalance> negativeBalances = new ArrayList<>();
+        private final List<Long> nullBalanceIds = new ArrayList<>();
+        private long accounts;
+        private long mismatchedAccounts;
+        private long negativeAccounts;
+        private long nullBalanceAccounts;
+        private long driftCents;
+
+        private void merge(RangeResult other) {
+            accounts += other.accounts;
+            mismatchedAccounts += other.mismatchedAccounts;
+            negativeAccounts += other.negativeAccounts;
+            nullBalanceAccounts += other.nullBalanceAccounts;
+            driftCents = Math.addExact(driftCents, other.driftCents);
+            addSample(mismatches, other.mismatches);
+            addSample(negativeBalances, other.negativeBalances);
+            addSample(nullBalanceIds, other.nullBalanceIds);
+        }
+
+        private static <T> void addSample(List<T> sample, List<T> more) {
+            for (T item : more) {
+                if (sample.size() >= MAX_REPORTED_ACCOUNTS) {
+                    return;
+                }
+                sample.add(item);
+            }
+        }
+    }
+
+    public record AccountBalance(long accountId, Money amount) {
+    }
+
+    public record PassResult(
+            long accounts,
+            int ranges,
+            long mismatchedAccounts,
+            List<AccountBalance> mismatchSample,
+            long negativeBalanceAccounts,
+            List<AccountBalance> negativeBalanceSample,
+            long nullBalanceAccounts,
+            List<Long> nullBalanceSample,
+            Money moneyDrift,
+            Money netFlow,
+            boolean baselineReset,
+            long durationMs,
+            boolean withinInterval,
+            LocalDateTime checkedAt) {
+    }
+
+    public record InvariantStats(
+            boolean enabled,
+            long rangeSize,
+            int parallelism,
+            int baselineRanges,
+            PassResult lastPass) {
+    }
+}
@@ -0,0 +1,189 @@
+package com.lab.banco;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AccountMetadataCache implements MeterBinder {
+
+    private final AccountRepository accountRepository;
+    private final int maximumSize;
+    private final long ttlNanos;
+    private final LinkedHashMap<Long, CachedAccount> entriesById = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Long> idsByName = new HashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public AccountMetadataCache(
+            AccountRepository accountRepository,
+            @Value("${app.account-cache.maximum-size:10000}") int maximumSize,
+            @Value("${app.account-cache.ttl-ms:600000}") long ttlMs) {
+        this.accountRepository = accountRepository;
+        this.maximumSize = Math.max(1, maximumSize);
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, ttlMs));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", hits, LongAdder::sum)
+                .tag("cache", "account-metadata")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", misses, LongAdder::sum)
+                .tag("cache", "account-metadata")
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", evictions, LongAdder::sum)
+                .tag("cache", "account-metadata")
+                .register(registry);
+        Gauge.builder("cache.size", this, cache -> cache.getStats().size())
+                .tag("cache", "account-metadata")
+                .register(registry);
+    }
+
+    public Map<Long, String> namesById(Collection<Long> accountIds) {
+        Map<Long, String> namesById = new HashMap<>();
+        Set<Long> missingIds = new HashSet<>();
+
+        synchronized (this) {
+            long now = System.nanoTime();
+            for (Long accountId : accountIds) {
+                AccountMetadata metadata = lookup(accountId, now);
+                if (metadata == null) {
+                    missingIds.add(accountId);
+                } else {
+                    namesById.put(accountId, metadata.name());
+                }
+            }
+        }
+
+        if (!missingIds.isEmpty()) {
+            for (Account account : accountRepository.findAllById(missingIds)) {
+                namesById.put(account.getId(), account.getName());
+                put(account);
+            }
+        }
+
+        return namesById;
+    }
+
+    public Optional<Account> findAccountByName(String name) {
+        String key = normalize(name);
+        Long cachedId;
+
+        synchronized (this) {
+            cachedId = idsByName.get(key);
+            if (cachedId != null && lookup(cachedId, System.nanoTime()) == null) {
+                cachedId = null;
+            } else if (cachedId == null) {
+                misses.increment();
+            }
+        }
+
+        if (cachedId != null) {
+            Optional<Account> account = accountRepository.findById(cachedId);
+            if (account.isPresent() && key.equals(normalize(account.get().getName()))) {
+                return account;
+            }
+            synchronized (this) {
+                remove(cachedId);
+            }
+        }
+
+        Optional<Account> account = accountRepository.findByNameIgnoreCase(name);
+        account.ifPresent(this::put);
+        return account;
+    }
+
+    public synchronized void put(Account account) {
+        if (account.getId() == null || account.getName() == null) {
+            return;
+        }
+
+        remove(account.getId());
+        entriesById.put(account.getId(), new CachedAccount(
+                new AccountMetadata(account.getId(), account.getName()),
+                System.nanoTime() + ttlNanos));
+        idsByName.put(normalize(account.getName()), account.getId());
+
+        while (entriesById.size() > maximumSize) {
+            Long eldestId = entriesById.keySet().iterator().next();
+            remove(eldestId);
+            evictions.increment();
+        }
+    }
+
+    public synchronized AccountCacheStats getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requests = hitCount + missCount;
+        return new AccountCacheStats(
+                entriesById.size(),
+                maximumSize,
+                TimeUnit.NANOSECONDS.toMillis(ttlNanos),
+                hitCount,
+                missCount,
+                evictions.sum(),
+                requests == 0 ? 0.0 : (double) hitCount / requests);
+    }
+
+    private AccountMetadata lookup(Long accountId, long now) {
+        CachedAccount cached = entriesById.get(accountId);
+        if (cached == null) {
+            misses.increment();
+            return null;
+        }
+
+        if (now - cached.expiresAtNanos() >= 0) {
+            remove(accountId);
+            evictions.increment();
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+        return cached.metadata();
+    }
+
+    private void remove(Long accountId) {
+        CachedAccount removed = entriesById.remove(accountId);
+        if (removed != null) {
+            idsByName.remove(normalize(removed.metadata().name()), accountId);
+        }
+    }
+
+    private static String normalize(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public record AccountMetadata(Long id, String name) {
+    }
+
+    private record CachedAccount(AccountMetadata metadata, long expiresAtNanos) {
+    }
+
+    public record AccountCacheStats(
+            int size,
+            int maximumSize,
+            long ttlMs,
+            long hits,
+            long misses,
+            long evictions,
+            double hitRate) {
+    }
+}
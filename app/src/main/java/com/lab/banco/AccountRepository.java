@@ -1,9 +1,72 @@
 package com.lab.banco;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface AccountRepository extends JpaRepository<Account, Long> {
 
     Optional<Account> findByNameIgnoreCase(String name);
+
+    List<Account> findByNameStartingWith(String prefix);
+
+    @Query("select coalesce(min(a.id), 0) from Account a")
+    long findMinId();
+
+    @Query("select coalesce(max(a.id), 0) from Account a")
+    long findMaxId();
+
+    @Query("select a.id from Account a where a.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query(value = """
+            SELECT a.id, a.name, b.balance
+            FROM accounts a
+            LEFT JOIN ledger_snapshots s ON :includeLedger AND s.account_id = a.id
+            CROSS JOIN LATERAL (
+                SELECT a.balance
+                       + COALESCE((SELECT SUM(sl.balance) FROM account_balance_slots sl WHERE sl.account_id = a.id), 0)
+                       + COALESCE(s.balance, 0)
+                       + CASE WHEN :includeLedger
+                              THEN COALESCE((SELECT SUM(e.amount)
+                                             FROM ledger_entries e
+                                             WHERE e.account_id = a.id
+                                               AND e.tx_id >= COALESCE(s.horizon_tx_id, 0)), 0)
+                              ELSE 0
+                         END AS balance
+            ) b
+            WHERE b.balance IS NULL OR b.balance < 0
+            ORDER BY a.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Object[]> findNullOrNegativeLogicalBalances(
+            @Param("includeLedger") boolean includeLedger,
+            @Param("limit") int limit);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from Account a where a.id = :id")
+    Optional<Account> findByIdForUpdate(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from Account a where a.id in :ids order by a.id")
+    List<Account> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("update versioned Account a set a.balance = :balance where a.id = :id")
+    int overwriteBalance(@Param("id") Long id, @Param("balance") Money balance);
+
+    @Modifying
+    @Query("update versioned Account a set a.balance = a.balance - :amount "
+            + "where a.id = :id and a.balance >= :amount")
+    int debitIfSufficient(@Param("id") Long id, @Param("amount") Money amount);
+
+    @Modifying
+    @Query("update versioned Account a set a.balance = a.balance + :amount where a.id = :id")
+    int credit(@Param("id") Long id, @Param("amount") Money amount);
 }
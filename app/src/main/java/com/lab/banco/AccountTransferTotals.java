@@ -0,0 +1,91 @@
+package com.lab.banco;
+
+import java.time.LocalDateTime;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "account_transfer_totals")
+@IdClass(AccountTransferTotalsId.class)
+public class AccountTransferTotals {
+
+    @Id
+    private Long accountId;
+
+    @Id
+    private int slot;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private Money totalIn;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private Money totalOut;
+
+    @Column(nullable = false)
+    private long transferCount;
+
+    @Column(nullable = false)
+    private long lastTransferId;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(Long accountId) {
+        this.accountId = accountId;
+    }
+
+    public int getSlot() {
+        return slot;
+    }
+
+    public void setSlot(int slot) {
+        this.slot = slot;
+    }
+
+    public Money getTotalIn() {
+        return totalIn;
+    }
+
+    public void setTotalIn(Money totalIn) {
+        this.totalIn = totalIn;
+    }
+
+    public Money getTotalOut() {
+        return totalOut;
+    }
+
+    public void setTotalOut(Money totalOut) {
+        this.totalOut = totalOut;
+    }
+
+    public long getTransferCount() {
+        return transferCount;
+    }
+
+    public void setTransferCount(long transferCount) {
+        this.transferCount = transferCount;
+    }
+
+    public long getLastTransferId() {
+        return lastTransferId;
+    }
+
+    public void setLastTransferId(long lastTransferId) {
+        this.lastTransferId = lastTransferId;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
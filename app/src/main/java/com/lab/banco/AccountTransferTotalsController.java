@@ -0,0 +1,32 @@
+package com.lab.banco;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+public class AccountTransferTotalsController {
+
+    private final AccountTransferTotalsService accountTransferTotalsService;
+
+    public AccountTransferTotalsController(AccountTransferTotalsService accountTransferTotalsService) {
+        this.accountTransferTotalsService = accountTransferTotalsService;
+    }
+
+    @GetMapping("/accounts/totals/stats")
+    public AccountTransferTotalsService.AccountTotalsStats accountTotalsStats() {
+        return accountTransferTotalsService.getStats();
+    }
+
+    @PostMapping("/accounts/totals/rebuild")
+    public AccountTransferTotalsService.RebuildResult rebuild(
+            @RequestParam(defaultValue = "false") boolean apply) {
+        if (!accountTransferTotalsService.isEnabled()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Account transfer totals are disabled");
+        }
+        return accountTransferTotalsService.rebuild(apply);
+    }
+}
@@ -0,0 +1,42 @@
+package com.lab.banco;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+public class AccountTransferTotalsId implements Serializable {
+
+    private Long accountId;
+    private int slot;
+
+    public AccountTransferTotalsId() {
+    }
+
+    public AccountTransferTotalsId(Long accountId, int slot) {
+        this.accountId = accountId;
+        this.slot = slot;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public int getSlot() {
+        return slot;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof AccountTransferTotalsId id)) {
+            return false;
+        }
+        return slot == id.slot && Objects.equals(accountId, id.accountId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(accountId, slot);
+    }
+}
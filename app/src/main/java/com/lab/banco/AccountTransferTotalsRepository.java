@@ -0,0 +1,174 @@
+package com.lab.banco;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface AccountTransferTotalsRepository extends JpaRepository<AccountTransferTotals, AccountTransferTotalsId> {
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO account_transfer_totals
+                (account_id, slot, total_in, total_out, transfer_count, last_transfer_id, updated_at)
+            SELECT m.account_id, :slot, m.total_in, m.total_out, m.transfer_count, m.last_transfer_id, LOCALTIMESTAMP
+            FROM unnest(
+                CAST(:accountIds AS bigint[]),
+                CAST(:totalsIn AS numeric[]),
+                CAST(:totalsOut AS numeric[]),
+                CAST(:transferCounts AS bigint[]),
+                CAST(:lastTransferIds AS bigint[])
+            ) AS m(account_id, total_in, total_out, transfer_count, last_transfer_id)
+            ORDER BY m.account_id
+            ON CONFLICT (account_id, slot) DO UPDATE
+            SET total_in = account_transfer_totals.total_in + EXCLUDED.total_in,
+                total_out = account_transfer_totals.total_out + EXCLUDED.total_out,
+                transfer_count = account_transfer_totals.transfer_count + EXCLUDED.transfer_count,
+                last_transfer_id = GREATEST(account_transfer_totals.last_transfer_id, EXCLUDED.last_transfer_id),
+                updated_at = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    int addMovements(
+            @Param("slot") int slot,
+            @Param("accountIds") Long[] accountIds,
+            @Param("totalsIn") BigDecimal[] totalsIn,
+            @Param("totalsOut") BigDecimal[] totalsOut,
+            @Param("transferCounts") Long[] transferCounts,
+            @Param("lastTransferIds") Long[] lastTransferIds);
+
+    @Modifying
+    @Query(value = "LOCK TABLE account_transfer_totals IN EXCLUSIVE MODE", nativeQuery = true)
+    void lockForRebuild();
+
+    @Query(value = """
+            WITH history AS (
+                SELECT x.account_id,
+                       SUM(x.total_in) AS total_in,
+                       SUM(x.total_out) AS total_out,
+                       SUM(x.transfer_count) AS transfer_count,
+                       MAX(x.last_transfer_id) AS last_transfer_id
+                FROM (
+                    SELECT b.account_id, b.total_in, b.total_out, b.transfer_count, b.last_transfer_id
+                    FROM account_transfer_totals_baseline b
+                    UNION ALL
+                    SELECT t.origin_account_id, 0, t.amount, 1, t.id
+                    FROM transfer_transactions t
+                    WHERE t.occurred_at >= (SELECT COALESCE(MAX(h.folded_before), '-infinity') FROM account_transfer_totals_horizon h)
+                    UNION ALL
+                    SELECT t.destination_account_id, t.amount, 0, 1, t.id
+                    FROM transfer_transactions t
+                    WHERE t.occurred_at >= (SELECT COALESCE(MAX(h.folded_before), '-infinity') FROM account_transfer_totals_horizon h)
+                ) x
+                GROUP BY x.account_id
+            )
+            SELECT COALESCE(h.account_id, s.account_id),
+                   h.total_in, h.total_out, h.transfer_count, h.last_transfer_id,
+                   s.total_in, s.total_out, s.transfer_count, s.last_transfer_id
+            FROM history h
+            FULL JOIN (
+                SELECT account_id,
+                       SUM(total_in) AS total_in,
+                       SUM(total_out) AS total_out,
+                       SUM(transfer_count) AS transfer_count,
+                       MAX(last_transfer_id) AS last_transfer_id
+                FROM account_transfer_totals
+                GROUP BY account_id
+            ) s ON s.account_id = h.account_id
+            WHERE h.total_in IS DISTINCT FROM s.total_in
+               OR h.total_out IS DISTINCT FROM s.total_out
+               OR h.transfer_count IS DISTINCT FROM s.transfer_count
+               OR h.last_transfer_id IS DISTINCT FROM s.last_transfer_id
+            ORDER BY 1
+            """, nativeQuery = true)
+    List<Object[]> findMismatchesWithHistory();
+
+    @Query(value = """
+            SELECT x.id,
+                   CAST(x.balance * 100 AS bigint),
+                   CAST((x.balance - x.total_in + x.total_out) * 100 AS bigint)
+            FROM (
+                SELECT a.id,
+                       a.balance + COALESCE(b.balance, 0) + COALESCE(s.balance, 0) + COALESCE(e.amount, 0) AS balance,
+                       COALESCE(t.total_in, 0) AS total_in,
+                       COALESCE(t.total_out, 0) AS total_out
+                FROM accounts a
+                LEFT JOIN (
+                    SELECT slot.account_id, SUM(slot.balance) AS balance
+                    FROM account_balance_slots slot
+                    WHERE slot.account_id BETWEEN :fromId AND :toId
+                    GROUP BY slot.account_id
+                ) b ON b.account_id = a.id
+                LEFT JOIN ledger_snapshots s
+                  ON s.account_id = a.id
+                 AND s.account_id BETWEEN :fromId AND :toId
+                 AND :ledger
+                LEFT JOIN (
+                    SELECT le.account_id, SUM(le.amount) AS amount
+                    FROM ledger_entries le
+                    LEFT JOIN ledger_snapshots ls ON ls.account_id = le.account_id
+                    WHERE :ledger
+                      AND le.account_id BETWEEN :fromId AND :toId
+                      AND le.tx_id >= COALESCE(ls.horizon_tx_id, 0)
+                    GROUP BY le.account_id
+                ) e ON e.account_id = a.id
+                LEFT JOIN (
+                    SELECT tt.account_id, SUM(tt.total_in) AS total_in, SUM(tt.total_out) AS total_out
+                    FROM account_transfer_totals tt
+                    WHERE tt.account_id BETWEEN :fromId AND :toId
+                    GROUP BY tt.account_id
+                ) t ON t.account_id = a.id
+                WHERE a.id BETWEEN :fromId AND :toId
+            ) x
+            ORDER BY x.id
+            """, nativeQuery = true)
+    List<Object[]> findInvariantBases(
+            @Param("fromId") long fromId,
+            @Param("toId") long toId,
+            @Param("ledger") boolean ledger);
+
+    @Query(value = "SELECT MAX(folded_before) FROM account_transfer_totals_horizon", nativeQuery = true)
+    LocalDateTime findFoldedBefore();
+
+    @Query(value = """
+            SELECT SUM(total_in), SUM(total_out), SUM(transfer_count), MAX(last_transfer_id)
+            FROM account_transfer_totals
+            WHERE account_id = :accountId
+            HAVING COUNT(*) > 0
+            """, nativeQuery = true)
+    List<Object[]> sumByAccountId(@Param("accountId") Long accountId);
+
+    @Query(value = "SELECT COUNT(DISTINCT account_id) FROM account_transfer_totals", nativeQuery = true)
+    long countAccounts();
+
+    @Query(value = "SELECT COALESCE(SUM(total_in), 0) - COALESCE(SUM(total_out), 0) FROM account_transfer_totals",
+            nativeQuery = true)
+    BigDecimal sumNetFlow();
+
+    @Modifying
+    @Query(value = "DELETE FROM account_transfer_totals", nativeQuery = true)
+    int deleteAllTotals();
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO account_transfer_totals
+                (account_id, total_in, total_out, transfer_count, last_transfer_id, updated_at)
+            SELECT x.account_id, SUM(x.total_in), SUM(x.total_out), SUM(x.transfer_count), MAX(x.last_transfer_id),
+                   LOCALTIMESTAMP
+            FROM (
+                SELECT b.account_id, b.total_in, b.total_out, b.transfer_count, b.last_transfer_id
+                FROM account_transfer_totals_baseline b
+                UNION ALL
+                SELECT t.origin_account_id, 0, t.amount, 1, t.id
+                FROM transfer_transactions t
+                WHERE t.occurred_at >= (SELECT COALESCE(MAX(h.folded_before), '-infinity') FROM account_transfer_totals_horizon h)
+                UNION ALL
+                SELECT t.destination_account_id, t.amount, 0, 1, t.id
+                FROM transfer_transactions t
+                WHERE t.occurred_at >= (SELECT COALESCE(MAX(h.folded_before), '-infinity') FROM account_transfer_totals_horizon h)
+            ) x
+            GROUP BY x.account_id
+            """, nativeQuery = true)
+    int insertFromHistory();
+}
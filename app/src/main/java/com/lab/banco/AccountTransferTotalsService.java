@@ -0,0 +1,240 @@
+package com.lab.banco;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class AccountTransferTotalsService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AccountTransferTotalsService.class);
+    private static final int MAX_REPORTED_MISMATCHES = 50;
+
+    private final AccountTransferTotalsRepository totalsRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate verifyTemplate;
+    private final boolean enabled;
+    private final int slotCount;
+    private final Timer rebuildTimer;
+    private final Timer verifyTimer;
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong lastMismatches = new AtomicLong();
+
+    private volatile LocalDateTime lastVerifiedAt;
+    private volatile LocalDateTime lastRebuiltAt;
+
+    public AccountTransferTotalsService(
+            AccountTransferTotalsRepository totalsRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.account-totals.enabled:true}") boolean enabled,
+            @Value("${app.account-totals.slots:8}") int slotCount) {
+        this.totalsRepository = totalsRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.verifyTemplate = new TransactionTemplate(transactionManager);
+        this.verifyTemplate.setReadOnly(true);
+        this.verifyTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.enabled = enabled;
+        this.slotCount = Math.max(1, slotCount);
+        this.rebuildTimer = Timer.builder("lab.account.totals.rebuild")
+                .tag("mode", "apply")
+                .register(meterRegistry);
+        this.verifyTimer = Timer.builder("lab.account.totals.rebuild")
+                .tag("mode", "verify")
+                .register(meterRegistry);
+        meterRegistry.gauge("lab.account.totals.mismatches", lastMismatches);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    long generation() {
+        return generation.get();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            if (totalsRepository.count() == 0) {
+                RebuildResult result = rebuild(true);
+                LOG.info("Built account transfer totals from history: accounts={}", result.accounts());
+            }
+        } catch (Exception ex) {
+            LOG.warn("Failed to build account transfer totals", ex);
+        }
+    }
+
+    void record(Collection<TransferTransaction> transfers) {
+        if (!enabled || transfers.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Movement> movements = new TreeMap<>();
+        for (TransferTransaction transfer : transfers) {
+            movements.computeIfAbsent(transfer.getOriginAccountId(), id -> new Movement())
+                    .add(Money.ZERO, transfer.getAmount(), transfer.getId());
+            movements.computeIfAbsent(transfer.getDestinationAccountId(), id -> new Movement())
+                    .add(transfer.getAmount(), Money.ZERO, transfer.getId());
+        }
+
+        int size = movements.size();
+        Long[] accountIds = new Long[size];
+        BigDecimal[] totalsIn = new BigDecimal[size];
+        BigDecimal[] totalsOut = new BigDecimal[size];
+        Long[] transferCounts = new Long[size];
+        Long[] lastTransferIds = new Long[size];
+        int i = 0;
+        for (Map.Entry<Long, Movement> entry : movements.entrySet()) {
+            Movement movement = entry.getValue();
+            accountIds[i] = entry.getKey();
+            totalsIn[i] = movement.totalIn.toBigDecimal();
+            totalsOut[i] = movement.totalOut.toBigDecimal();
+            transferCounts[i] = movement.transferCount;
+            lastTransferIds[i] = movement.lastTransferId;
+            i++;
+        }
+        int slot = slotCount == 1 ? 0 : ThreadLocalRandom.current().nextInt(slotCount);
+        totalsRepository.addMovements(slot, accountIds, totalsIn, totalsOut, transferCounts, lastTransferIds);
+    }
+
+    Totals totalsOf(Long accountId) {
+        List<Object[]> rows = totalsRepository.sumByAccountId(accountId);
+        return rows.isEmpty() ? Totals.EMPTY : totals(rows.get(0), 0);
+    }
+
+    public RebuildResult rebuild(boolean apply) {
+        long startedAt = System.nanoTime();
+        RebuildResult result = apply
+                ? transactionTemplate.execute(status -> {
+                    totalsRepository.lockForRebuild();
+                    List<TotalsMismatch> mismatches = findMismatches();
+                    totalsRepository.deleteAllTotals();
+                    int accounts = totalsRepository.insertFromHistory();
+                    return new RebuildResult(true, accounts, totalsRepository.findFoldedBefore(),
+                            mismatches.size(), limit(mismatches), 0);
+                })
+                : verifyTemplate.execute(status -> {
+                    List<TotalsMismatch> mismatches = findMismatches();
+                    return new RebuildResult(false, totalsRepository.countAccounts(), totalsRepository.findFoldedBefore(),
+                            mismatches.size(), limit(mismatches), 0);
+                });
+
+        long elapsedNanos = System.nanoTime() - startedAt;
+        (apply ? rebuildTimer : verifyTimer).record(elapsedNanos, TimeUnit.NANOSECONDS);
+        lastMismatches.set(result.mismatches());
+        lastVerifiedAt = LocalDateTime.now();
+        if (apply) {
+            generation.incrementAndGet();
+            lastRebuiltAt = lastVerifiedAt;
+        }
+        return new RebuildResult(
+                result.applied(),
+                result.accounts(),
+                result.foldedBefore(),
+                result.mismatches(),
+                result.sample(),
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+    }
+
+    public AccountTotalsStats getStats() {
+        return new AccountTotalsStats(
+                enabled,
+                slotCount,
+                enabled ? totalsRepository.countAccounts() : 0,
+                generation.get(),
+                lastMismatches.get(),
+                lastVerifiedAt,
+                lastRebuiltAt);
+    }
+
+    private List<TotalsMismatch> findMismatches() {
+        List<TotalsMismatch> mismatches = new ArrayList<>();
+        for (Object[] row : totalsRepository.findMismatchesWithHistory()) {
+            mismatches.add(new TotalsMismatch(
+                    ((Number) row[0]).longValue(),
+                    totals(row, 1),
+                    totals(row, 5)));
+        }
+        return mismatches;
+    }
+
+    private static Totals totals(Object[] row, int offset) {
+        if (row[offset] == null) {
+            return null;
+        }
+
+        return new Totals(
+                Money.of((BigDecimal) row[offset]),
+                Money.of((BigDecimal) row[offset + 1]),
+                ((Number) row[offset + 2]).longValue(),
+                ((Number) row[offset + 3]).longValue());
+    }
+
+    private static List<TotalsMismatch> limit(List<TotalsMismatch> mismatches) {
+        return List.copyOf(mismatches.subList(0, Math.min(MAX_REPORTED_MISMATCHES, mismatches.size())));
+    }
+
+    private static final class Movement {
+        private Money totalIn = Money.ZERO;
+        private Money totalOut = Money.ZERO;
+        private long transferCount;
+        private long lastTransferId;
+
+        private void add(Money amountIn, Money amountOut, long transferId) {
+            totalIn = totalIn.plus(amountIn);
+            totalOut = totalOut.plus(amountOut);
+            transferCount++;
+            lastTransferId = Math.max(lastTransferId, transferId);
+        }
+    }
+
+    public record Totals(Money totalIn, Money totalOut, long transferCount, long lastTransferId) {
+
+        static final Totals EMPTY = new Totals(Money.ZERO, Money.ZERO, 0, 0);
+    }
+
+    public record TotalsMismatch(long accountId, Totals history, Totals stored) {
+    }
+
+    public record RebuildResult(
+            boolean applied,
+            long accounts,
+            LocalDateTime foldedBefore,
+            int mismatches,
+            List<TotalsMismatch> sample,
+            long durationMs) {
+    }
+
+    public record AccountTotalsStats(
+            boolean enabled,
+            int slots,
+            long accounts,
+            long generation,
+            long lastMismatches,
+            LocalDateTime lastVerifiedAt,
+            LocalDateTime lastRebuiltAt) {
+    }
+}
@@ -0,0 +1,121 @@
+package com.lab.banco;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+@Service
+public class AdmissionControlService {
+
+    private final boolean enabled;
+    private final long retryAfterSeconds;
+    private final Map<WorkloadClass, AdaptiveConcurrencyLimiter> limiters = new EnumMap<>(WorkloadClass.class);
+
+    public AdmissionControlService(
+            MeterRegistry meterRegistry,
+            @Value("${app.admission.enabled:true}") boolean enabled,
+            @Value("${app.admission.min-limit:2}") int minLimit,
+            @Value("${app.admission.backoff-ratio:0.9}") double backoffRatio,
+            @Value("${app.admission.retry-after-seconds:1}") long retryAfterSeconds,
+            @Value("${app.admission.transfer-write.initial-limit:20}") int writeInitialLimit,
+            @Value("${app.admission.transfer-write.max-limit:200}") int writeMaxLimit,
+            @Value("${app.admission.transfer-write.latency-threshold-ms:250}") long writeLatencyThresholdMs,
+            @Value("${app.admission.transfer-batch.initial-limit:2}") int batchInitialLimit,
+            @Value("${app.admission.transfer-batch.max-limit:8}") int batchMaxLimit,
+            @Value("${app.admission.transfer-batch.latency-threshold-ms:2000}") long batchLatencyThresholdMs,
+            @Value("${app.admission.transfer-read.initial-limit:20}") int readInitialLimit,
+            @Value("${app.admission.transfer-read.max-limit:200}") int readMaxLimit,
+            @Value("${app.admission.transfer-read.latency-threshold-ms:200}") long readLatencyThresholdMs) {
+        this.enabled = enabled;
+        this.retryAfterSeconds = Math.max(1, retryAfterSeconds);
+        limiters.put(WorkloadClass.TRANSFER_WRITE, new AdaptiveConcurrencyLimiter(
+                writeInitialLimit, minLimit, writeMaxLimit,
+                TimeUnit.MILLISECONDS.toNanos(writeLatencyThresholdMs), backoffRatio));
+        limiters.put(WorkloadClass.TRANSFER_BATCH, new AdaptiveConcurrencyLimiter(
+                batchInitialLimit, minLimit, batchMaxLimit,
+                TimeUnit.MILLISECONDS.toNanos(batchLatencyThresholdMs), backoffRatio));
+        limiters.put(WorkloadClass.TRANSFER_READ, new AdaptiveConcurrencyLimiter(
+                readInitialLimit, minLimit, readMaxLimit,
+                TimeUnit.MILLISECONDS.toNanos(readLatencyThresholdMs), backoffRatio));
+
+        limiters.forEach((workloadClass, limiter) -> {
+            String workload = workloadClass.name().toLowerCase();
+            Gauge.builder("lab.admission.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .tag("workload", workload)
+                    .register(meterRegistry);
+            Gauge.builder("lab.admission.in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .tag("workload", workload)
+                    .register(meterRegistry);
+            FunctionCounter.builder("lab.admission.rejected", limiter, AdaptiveConcurrencyLimiter::getRejected)
+                    .tag("workload", workload)
+                    .register(meterRegistry);
+        });
+    }
+
+    public Permit acquire(WorkloadClass workloadClass) {
+        if (!enabled) {
+            return new Permit(null);
+        }
+
+        AdaptiveConcurrencyLimiter limiter = limiters.get(workloadClass);
+        if (!limiter.tryAcquire()) {
+            throw new AdmissionRejectedException(workloadClass, limiter.getLimit(), retryAfterSeconds);
+        }
+        return new Permit(limiter);
+    }
+
+    public List<AdmissionStats> getStats() {
+        List<AdmissionStats> stats = new ArrayList<>();
+        limiters.forEach((workloadClass, limiter) -> stats.add(new AdmissionStats(
+                workloadClass,
+                enabled,
+                limiter.getLimit(),
+                limiter.getInFlight(),
+                limiter.getRejected())));
+        return stats;
+    }
+
+    public static final class Permit implements AutoCloseable {
+
+        private final AdaptiveConcurrencyLimiter limiter;
+        private final long acquiredAtNanos = System.nanoTime();
+        private volatile boolean dropped;
+        private boolean released;
+
+        private Permit(AdaptiveConcurrencyLimiter limiter) {
+            this.limiter = limiter;
+        }
+
+        public void markDropped() {
+            dropped = true;
+        }
+
+        public synchronized void release() {
+            if (released || limiter == null) {
+                return;
+            }
+            released = true;
+            limiter.release(System.nanoTime() - acquiredAtNanos, dropped);
+        }
+
+        @Override
+        public void close() {
+            release();
+        }
+    }
+
+    public record AdmissionStats(
+            WorkloadClass workloadClass,
+            boolean enabled,
+            int limit,
+            int inFlight,
+            long rejected) {
+    }
+}
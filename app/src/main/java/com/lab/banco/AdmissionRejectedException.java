@@ -0,0 +1,23 @@
+package com.lab.banco;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+public class AdmissionRejectedException extends ResponseStatusException {
+
+    private final long retryAfterSeconds;
+
+    public AdmissionRejectedException(WorkloadClass workloadClass, int limit, long retryAfterSeconds) {
+        super(HttpStatus.TOO_MANY_REQUESTS,
+                "Concurrency limit of " + limit + " reached for " + workloadClass.name().toLowerCase());
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        return headers;
+    }
+}
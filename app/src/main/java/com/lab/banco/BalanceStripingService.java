@@ -0,0 +1,222 @@
+package com.lab.banco;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class BalanceStripingService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BalanceStripingService.class);
+
+    private final AccountRepository accountRepository;
+    private final AccountMetadataCache accountMetadataCache;
+    private final AccountBalanceSlotRepository slotRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ClusterCoordinator clusterCoordinator;
+    private final boolean enabled;
+    private final List<String> hotAccountNames;
+    private final int slotCount;
+
+    private volatile Map<Long, Integer> slotCountsByAccountId = Map.of();
+
+    public BalanceStripingService(
+            AccountRepository accountRepository,
+            AccountMetadataCache accountMetadataCache,
+            AccountBalanceSlotRepository slotRepository,
+            PlatformTransactionManager transactionManager,
+            ClusterCoordinator clusterCoordinator,
+            @Value("${app.balance-striping.enabled:false}") boolean enabled,
+            @Value("${app.balance-striping.hot-accounts:Joao,Maria}") List<String> hotAccountNames,
+            @Value("${app.balance-striping.slots:8}") int slotCount) {
+        this.accountRepository = accountRepository;
+        this.accountMetadataCache = accountMetadataCache;
+        this.slotRepository = slotRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clusterCoordinator = clusterCoordinator;
+        this.enabled = enabled;
+        this.hotAccountNames = List.copyOf(hotAccountNames);
+        this.slotCount = Math.max(1, slotCount);
+    }
+
+    @Scheduled(fixedRateString = "${app.balance-striping.rebalance-fixed-rate-ms:10000}",
+            initialDelayString = "${app.balance-striping.initial-delay-ms:0}")
+    public void maintainStripes() {
+        try {
+            boolean leader = clusterCoordinator.isLeader();
+            refreshStripedAccounts();
+            if (enabled && leader) {
+                for (String accountName : hotAccountNames) {
+                    accountMetadataCache.findAccountByName(accountName.trim())
+                            .filter(account -> !account.isStriped())
+                            .ifPresent(account -> {
+                                Integer slots = transactionTemplate.execute(status -> stripe(account.getId()));
+                                if (slots != null) {
+                                    markStriped(account.getId(), slots);
+                                }
+                            });
+                }
+            }
+
+            if (!leader) {
+                return;
+            }
+
+            for (Long accountId : slotCountsByAccountId.keySet()) {
+                transactionTemplate.executeWithoutResult(status -> rebalance(accountId));
+            }
+        } catch (Exception ex) {
+            LOG.warn("Failed to maintain balance stripes", ex);
+        }
+    }
+
+    public boolean isStriped(Long accountId) {
+        return slotCountsByAccountId.containsKey(accountId);
+    }
+
+    public Money logicalBalance(Account account) {
+        if (!account.isStriped() || account.getBalance() == null) {
+            return account.getBalance();
+        }
+
+        return account.getBalance().plus(Money.of(slotRepository.sumBalance(account.getId())));
+    }
+
+    boolean debit(Long accountId, Money amount) {
+        int slots = slotCountsByAccountId.getOrDefault(accountId, 0);
+        int start = slots == 0 ? 0 : ThreadLocalRandom.current().nextInt(slots);
+        for (int i = 0; i < slots; i++) {
+            if (slotRepository.debitIfSufficient(accountId, (start + i) % slots, amount) == 1) {
+                return true;
+            }
+        }
+
+        return debitAcrossSlots(accountId, amount);
+    }
+
+    void credit(Long accountId, Money amount) {
+        int slots = slotCountsByAccountId.getOrDefault(accountId, 0);
+        int slot = slots == 0 ? 0 : ThreadLocalRandom.current().nextInt(slots);
+        if (slotRepository.credit(accountId, slot, amount) == 0) {
+            accountRepository.credit(accountId, amount);
+        }
+    }
+
+    private boolean debitAcrossSlots(Long accountId, Money amount) {
+        Account account = accountRepository.findByIdForUpdate(accountId).orElse(null);
+        List<AccountBalanceSlot> slots = slotRepository.findByAccountIdForUpdate(accountId);
+        absorbAccountBalance(account, slots);
+        if (total(slots).isLessThan(amount)) {
+            return false;
+        }
+
+        Money remaining = amount;
+        for (AccountBalanceSlot slot : slots) {
+            if (remaining.isZero()) {
+                break;
+            }
+
+            Money taken = slot.getBalance().min(remaining);
+            if (taken.signum() > 0) {
+                slot.setBalance(slot.getBalance().minus(taken));
+                remaining = remaining.minus(taken);
+            }
+        }
+
+        return true;
+    }
+
+    private Integer stripe(Long accountId) {
+        Account account = accountRepository.findByIdForUpdate(accountId).orElse(null);
+        if (account == null || account.isStriped()) {
+            return null;
+        }
+
+        List<Money> shares = split(account.getBalance(), slotCount);
+        List<AccountBalanceSlot> slots = new ArrayList<>(slotCount);
+        for (int i = 0; i < shares.size(); i++) {
+            AccountBalanceSlot slot = new AccountBalanceSlot();
+            slot.setAccountId(accountId);
+            slot.setSlot(i);
+            slot.setBalance(shares.get(i));
+            slots.add(slot);
+        }
+        slotRepository.saveAll(slots);
+
+        account.setBalance(Money.ZERO);
+        account.setStriped(true);
+        accountRepository.save(account);
+
+        LOG.info("Account {}({}) striped into {} balance slots", account.getName(), accountId, slotCount);
+        return slotCount;
+    }
+
+    private void markStriped(Long accountId, int slots) {
+        Map<Long, Integer> counts = new HashMap<>(slotCountsByAccountId);
+        counts.put(accountId, slots);
+        slotCountsByAccountId = Map.copyOf(counts);
+    }
+
+    private void rebalance(Long accountId) {
+        Account account = accountRepository.findByIdForUpdate(accountId).orElse(null);
+        List<AccountBalanceSlot> slots = slotRepository.findByAccountIdForUpdate(accountId);
+        if (slots.isEmpty()) {
+            return;
+        }
+
+        absorbAccountBalance(account, slots);
+        List<Money> shares = split(total(slots), slots.size());
+        for (int i = 0; i < slots.size(); i++) {
+            slots.get(i).setBalance(shares.get(i));
+        }
+    }
+
+    private void absorbAccountBalance(Account account, List<AccountBalanceSlot> slots) {
+        if (account == null || slots.isEmpty() || account.getBalance() == null || account.getBalance().isZero()) {
+            return;
+        }
+
+        AccountBalanceSlot first = slots.get(0);
+        first.setBalance(first.getBalance().plus(account.getBalance()));
+        LOG.info("Moved {} credited to the row of striped account {} into its balance slots",
+                account.getBalance(), account.getId());
+        account.setBalance(Money.ZERO);
+        accountRepository.save(account);
+    }
+
+    private void refreshStripedAccounts() {
+        Map<Long, Integer> counts = new HashMap<>();
+        for (Object[] row : slotRepository.countSlotsByAccount()) {
+            counts.put((Long) row[0], ((Number) row[1]).intValue());
+        }
+        slotCountsByAccountId = Map.copyOf(counts);
+    }
+
+    private static Money total(List<AccountBalanceSlot> slots) {
+        Money total = Money.ZERO;
+        for (AccountBalanceSlot slot : slots) {
+            total = total.plus(slot.getBalance());
+        }
+        return total;
+    }
+
+    private static List<Money> split(Money total, int parts) {
+        Money share = Money.ofCents(total.cents() / parts);
+        Money remainder = total.minus(share.times(parts));
+
+        List<Money> shares = new ArrayList<>(parts);
+        for (int i = 0; i < parts; i++) {
+            shares.add(i == 0 ? share.plus(remainder) : share);
+        }
+        return shares;
+    }
+}
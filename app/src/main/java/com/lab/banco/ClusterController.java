@@ -0,0 +1,19 @@
+package com.lab.banco;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class ClusterController {
+
+    private final ClusterCoordinator clusterCoordinator;
+
+    public ClusterController(ClusterCoordinator clusterCoordinator) {
+        this.clusterCoordinator = clusterCoordinator;
+    }
+
+    @GetMapping("/cluster/stats")
+    public ClusterCoordinator.ClusterStats clusterStats() {
+        return clusterCoordinator.getStats();
+    }
+}
@@ -0,0 +1,324 @@
+package com.lab.banco;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class ClusterCoordinator implements SmartLifecycle {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ClusterCoordinator.class);
+    private static final int LEADER_LOCK_CLASS = 0x4C42_0001;
+    private static final int MEMBER_LOCK_CLASS = 0x4C42_0002;
+    private static final String APPLICATION_NAME_PREFIX = "lab-banco:";
+    private static final String MEMBERS_QUERY = """
+            SELECT l.classid, l.objid, a.application_name
+            FROM pg_locks l
+            JOIN pg_stat_activity a ON a.pid = l.pid
+            WHERE l.locktype = 'advisory'
+              AND l.objsubid = 2
+              AND l.granted
+              AND l.classid IN (%d, %d)
+            ORDER BY l.classid, l.objid
+            """.formatted(LEADER_LOCK_CLASS, MEMBER_LOCK_CLASS);
+
+    private final DataSourceProperties dataSourceProperties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final String instanceId;
+    private final boolean leaderEligible;
+    private final long heartbeatMs;
+    private final int maxMembers;
+    private final AtomicLong leadershipTerm = new AtomicLong();
+    private final LongAdder heartbeatFailures = new LongAdder();
+
+    private volatile ClusterView view;
+    private volatile LocalDateTime lastHeartbeatAt;
+    private volatile ScheduledExecutorService heartbeat;
+    private Connection connection;
+
+    public ClusterCoordinator(
+            DataSourceProperties dataSourceProperties,
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.cluster.enabled:true}") boolean enabled,
+            @Value("${app.cluster.instance-id:${HOSTNAME:}}") String instanceId,
+            @Value("${app.cluster.leader-eligible:true}") boolean leaderEligible,
+            @Value("${app.cluster.heartbeat-ms:1000}") long heartbeatMs,
+            @Value("${app.cluster.max-members:64}") int maxMembers) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.instanceId = instanceId.isBlank() ? UUID.randomUUID().toString().substring(0, 8) : instanceId.trim();
+        this.leaderEligible = leaderEligible;
+        this.heartbeatMs = Math.max(100, heartbeatMs);
+        this.maxMembers = Math.max(1, maxMembers);
+        this.view = enabled ? ClusterView.detached() : ClusterView.standalone(this.instanceId);
+        Gauge.builder("lab.cluster.leader", this, coordinator -> coordinator.isLeader() ? 1 : 0)
+                .register(meterRegistry);
+        Gauge.builder("lab.cluster.members", this, coordinator -> coordinator.view.members().size())
+                .register(meterRegistry);
+        FunctionCounter.builder("lab.cluster.heartbeat.failures", heartbeatFailures, LongAdder::sum)
+                .register(meterRegistry);
+    }
+
+    public boolean isLeader() {
+        return view.leader();
+    }
+
+    public String leaderInstance() {
+        return view.leaderInstance();
+    }
+
+    public long leadershipTerm() {
+        return leadershipTerm.get();
+    }
+
+    public ShardAssignment assignment() {
+        ClusterView current = view;
+        List<Member> members = current.members();
+        for (int i = 0; i < members.size(); i++) {
+            if (members.get(i).slot() == current.memberSlot()) {
+                return new ShardAssignment(i, members.size());
+            }
+        }
+        return new ShardAssignment(-1, members.size());
+    }
+
+    public <T> T runExclusive(String lockName, Supplier<T> body) {
+        if (!enabled) {
+            return body.get();
+        }
+
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(hashtext(?), 0)", lockName);
+            return body.get();
+        });
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cluster-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeat = executor;
+        executor.scheduleWithFixedDelay(this::heartbeat, 0, heartbeatMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService executor = heartbeat;
+        if (executor == null) {
+            return;
+        }
+
+        heartbeat = null;
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        closeConnection();
+        view = ClusterView.detached();
+        LOG.info("Instance {} left the cluster", instanceId);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return heartbeat != null;
+    }
+
+    public ClusterStats getStats() {
+        ClusterView current = view;
+        ShardAssignment assignment = assignment();
+        return new ClusterStats(
+                enabled,
+                instanceId,
+                leaderEligible,
+                current.leader(),
+                current.leaderInstance(),
+                leadershipTerm.get(),
+                current.memberSlot(),
+                assignment.memberIndex(),
+                current.members(),
+                lastHeartbeatAt,
+                heartbeatFailures.sum());
+    }
+
+    private void heartbeat() {
+        try {
+            Connection current = connection();
+            ClusterView previous = view;
+            int memberSlot = previous.memberSlot() >= 0 ? previous.memberSlot() : joinMembers(current);
+            boolean leader = previous.leader();
+            if (!leader && leaderEligible && tryLock(current, LEADER_LOCK_CLASS, 0)) {
+                leader = true;
+                LOG.info("Instance {} elected cluster leader (term {})",
+                        instanceId, leadershipTerm.incrementAndGet());
+            }
+
+            view = readView(current, leader, memberSlot);
+            lastHeartbeatAt = LocalDateTime.now();
+        } catch (SQLException | RuntimeException ex) {
+            heartbeatFailures.increment();
+            if (view.leader()) {
+                LOG.warn("Instance {} lost its cluster session and stepped down as leader", instanceId, ex);
+            } else {
+                LOG.warn("Cluster heartbeat failed for instance {}", instanceId, ex);
+            }
+            view = ClusterView.detached();
+            closeConnection();
+        }
+    }
+
+    private Connection connection() throws SQLException {
+        if (connection != null && !connection.isClosed()) {
+            return connection;
+        }
+
+        Properties properties = new Properties();
+        String username = dataSourceProperties.determineUsername();
+        String password = dataSourceProperties.determinePassword();
+        if (username != null) {
+            properties.setProperty("user", username);
+        }
+        if (password != null) {
+            properties.setProperty("password", password);
+        }
+        properties.setProperty("ApplicationName", APPLICATION_NAME_PREFIX + instanceId);
+        Connection opened = DriverManager.getConnection(dataSourceProperties.determineUrl(), properties);
+        opened.setAutoCommit(true);
+        opened.setNetworkTimeout(Runnable::run, (int) Math.min(Integer.MAX_VALUE, heartbeatMs * 5));
+        connection = opened;
+        return opened;
+    }
+
+    private int joinMembers(Connection current) throws SQLException {
+        for (int slot = 0; slot < maxMembers; slot++) {
+            if (tryLock(current, MEMBER_LOCK_CLASS, slot)) {
+                LOG.info("Instance {} joined the cluster in member slot {}", instanceId, slot);
+                return slot;
+            }
+        }
+        throw new IllegalStateException("No free cluster member slot out of " + maxMembers);
+    }
+
+    private static boolean tryLock(Connection current, int lockClass, int lockId) throws SQLException {
+        try (PreparedStatement statement = current.prepareStatement("SELECT pg_try_advisory_lock(?, ?)")) {
+            statement.setInt(1, lockClass);
+            statement.setInt(2, lockId);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+
+    private ClusterView readView(Connection current, boolean leader, int memberSlot) throws SQLException {
+        List<Member> members = new ArrayList<>();
+        String leaderInstance = null;
+        try (PreparedStatement statement = current.prepareStatement(MEMBERS_QUERY);
+                ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                String member = memberName(resultSet.getString(3));
+                if (resultSet.getLong(1) == LEADER_LOCK_CLASS) {
+                    leaderInstance = member;
+                } else {
+                    members.add(new Member(resultSet.getInt(2), member));
+                }
+            }
+        }
+        return new ClusterView(leader, leaderInstance, memberSlot, List.copyOf(members));
+    }
+
+    private static String memberName(String applicationName) {
+        if (applicationName != null && applicationName.startsWith(APPLICATION_NAME_PREFIX)) {
+            return applicationName.substring(APPLICATION_NAME_PREFIX.length());
+        }
+        return applicationName;
+    }
+
+    private void closeConnection() {
+        Connection current = connection;
+        connection = null;
+        if (current == null) {
+            return;
+        }
+
+        try {
+            current.close();
+        } catch (SQLException ex) {
+            LOG.debug("Failed to close cluster session", ex);
+        }
+    }
+
+    private record ClusterView(boolean leader, String leaderInstance, int memberSlot, List<Member> members) {
+
+        private static ClusterView detached() {
+            return new ClusterView(false, null, -1, List.of());
+        }
+
+        private static ClusterView standalone(String instanceId) {
+            return new ClusterView(true, instanceId, 0, List.of(new Member(0, instanceId)));
+        }
+    }
+
+    public record Member(int slot, String instanceId) {
+    }
+
+    public record ShardAssignment(int memberIndex, int memberCount) {
+
+        public boolean owns(long shard) {
+            return memberIndex >= 0 && Math.floorMod(shard, memberCount) == memberIndex;
+        }
+    }
+
+    public record ClusterStats(
+            boolean enabled,
+            String instanceId,
+            boolean leaderEligible,
+            boolean leader,
+            String leaderInstance,
+            long leadershipTerm,
+            int memberSlot,
+            int memberIndex,
+            List<Member> members,
+            LocalDateTime lastHeartbeatAt,
+            long heartbeatFailures) {
+    }
+}
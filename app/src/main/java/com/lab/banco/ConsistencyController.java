@@ -8,9 +8,13 @@ import org.springframework.web.bind.annotation.RestController;
 public class ConsistencyController {
 
     private final ConsistencyMonitorService consistencyMonitorService;
+    private final AccountInvariantService accountInvariantService;
 
-    public ConsistencyController(ConsistencyMonitorService consistencyMonitorService) {
+    public ConsistencyController(
+            ConsistencyMonitorService consistencyMonitorService,
+            AccountInvariantService accountInvariantService) {
         this.consistencyMonitorService = consistencyMonitorService;
+        this.accountInvariantService = accountInvariantService;
     }
 
     @GetMapping("/consistency")
@@ -22,4 +26,9 @@ public class ConsistencyController {
     public List<ConsistencyMonitorService.ConsistencyIssue> listConsistencyIssues() {
         return consistencyMonitorService.getSnapshot().recentIssues();
     }
+
+    @GetMapping("/consistency/accounts/stats")
+    public AccountInvariantService.InvariantStats accountInvariantStats() {
+        return accountInvariantService.getStats();
+    }
 }
@@ -0,0 +1,143 @@
+package com.lab.banco;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+
+final class ConsistencyIssueStore {
+
+    private static final Comparator<ConsistencyMonitorService.ConsistencyIssue> NEWEST_FIRST = Comparator
+            .comparing(ConsistencyMonitorService.ConsistencyIssue::lastSeenAt)
+            .reversed();
+
+    private final int capacity;
+    private final long logIntervalNanos;
+    private final Logger log;
+    private final MeterRegistry meterRegistry;
+    private final AtomicReferenceArray<Entry> ring;
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong version = new AtomicLong();
+    private final Map<IssueKey, Entry> entries = new ConcurrentHashMap<>();
+
+    private volatile Published published = new Published(0, List.of());
+
+    ConsistencyIssueStore(int capacity, long logIntervalMs, Logger log, MeterRegistry meterRegistry) {
+        this.capacity = Math.max(1, capacity);
+        this.logIntervalNanos = Math.max(0, logIntervalMs) * 1_000_000L;
+        this.log = log;
+        this.meterRegistry = meterRegistry;
+        this.ring = new AtomicReferenceArray<>(this.capacity);
+    }
+
+    void record(String code, String severity, String subject, Supplier<String> message) {
+        IssueKey key = new IssueKey(code, subject);
+        long nowNanos = System.nanoTime();
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            Entry created = new Entry(key, severity, message.get(), nowNanos, counter(code, severity));
+            entry = entries.putIfAbsent(key, created);
+            if (entry == null) {
+                append(created);
+                created.counter.increment();
+                log.warn("[{}] {}", code, created.message);
+                return;
+            }
+        }
+
+        long occurrences = entry.occurrences.incrementAndGet();
+        entry.lastSeenMillis = System.currentTimeMillis();
+        entry.counter.increment();
+        version.incrementAndGet();
+
+        long lastLogged = entry.lastLoggedNanos.get();
+        if (nowNanos - lastLogged >= logIntervalNanos && entry.lastLoggedNanos.compareAndSet(lastLogged, nowNanos)) {
+            String current = message.get();
+            entry.message = current;
+            log.warn("[{}] {} (seen {} time(s) since {})", code, current, occurrences, toDateTime(entry.firstSeenMillis));
+        }
+    }
+
+    List<ConsistencyMonitorService.ConsistencyIssue> recent() {
+        Published current = published;
+        long currentVersion = version.get();
+        if (current.version == currentVersion) {
+            return current.issues;
+        }
+
+        List<ConsistencyMonitorService.ConsistencyIssue> issues = new ArrayList<>(capacity);
+        for (int i = 0; i < capacity; i++) {
+            Entry entry = ring.get(i);
+            if (entry != null) {
+                issues.add(entry.toIssue());
+            }
+        }
+        issues.sort(NEWEST_FIRST);
+        List<ConsistencyMonitorService.ConsistencyIssue> snapshot = List.copyOf(issues);
+        published = new Published(currentVersion, snapshot);
+        return snapshot;
+    }
+
+    private void append(Entry entry) {
+        long slot = sequence.getAndIncrement() % capacity;
+        Entry evicted = ring.getAndSet((int) slot, entry);
+        if (evicted != null) {
+            entries.remove(evicted.key, evicted);
+        }
+        version.incrementAndGet();
+    }
+
+    private Counter counter(String code, String severity) {
+        return meterRegistry.counter("lab.consistency.issues", "code", code, "severity", severity);
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private record IssueKey(String code, String subject) {
+    }
+
+    private record Published(long version, List<ConsistencyMonitorService.ConsistencyIssue> issues) {
+    }
+
+    private static final class Entry {
+        private final IssueKey key;
+        private final String severity;
+        private final long firstSeenMillis = System.currentTimeMillis();
+        private final AtomicLong occurrences = new AtomicLong(1);
+        private final AtomicLong lastLoggedNanos;
+        private final Counter counter;
+        private volatile long lastSeenMillis = firstSeenMillis;
+        private volatile String message;
+
+        private Entry(IssueKey key, String severity, String message, long nowNanos, Counter counter) {
+            this.key = key;
+            this.severity = severity;
+            this.message = message;
+            this.lastLoggedNanos = new AtomicLong(nowNanos);
+            this.counter = counter;
+        }
+
+        private ConsistencyMonitorService.ConsistencyIssue toIssue() {
+            return new ConsistencyMonitorService.ConsistencyIssue(
+                    key.code(),
+                    severity,
+                    key.subject(),
+                    message,
+                    toDateTime(firstSeenMillis),
+                    toDateTime(lastSeenMillis),
+                    occurrences.get());
+        }
+    }
+}
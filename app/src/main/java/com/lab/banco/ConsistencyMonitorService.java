@@ -1,18 +1,27 @@
 package com.lab.banco;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Isolation;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 public class ConsistencyMonitorService {
@@ -23,82 +32,363 @@ public class ConsistencyMonitorService {
     private static final int MAX_STORED_ISSUES = 200;
 
     private final AccountRepository accountRepository;
+    private final AccountMetadataCache accountMetadataCache;
     private final TransferTransactionRepository transferTransactionRepository;
-    private final Deque<ConsistencyIssue> recentIssues = new ArrayDeque<>();
+    private final LedgerService ledgerService;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final AccountTransferTotalsService accountTransferTotalsService;
+    private final AccountInvariantService accountInvariantService;
+    private final ClusterCoordinator clusterCoordinator;
+    private final TransactionTemplate checkTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ConsistencyCheckMode checkMode;
+    private final Duration fullReconciliationInterval;
+    private final Duration settleWindow;
+    private final ConsistencyIssueStore issueStore;
 
     private volatile BaselineSnapshot baselineSnapshot;
+    private volatile TransferWatermark transferWatermark;
+    private volatile CommitTracker commitTracker;
     private volatile LocalDateTime lastCheckedAt;
     private volatile int issuesDetectedInLastRun;
+    private long observedLeadershipTerm = -1;
 
     public ConsistencyMonitorService(
             AccountRepository accountRepository,
-            TransferTransactionRepository transferTransactionRepository) {
+            AccountMetadataCache accountMetadataCache,
+            TransferTransactionRepository transferTransactionRepository,
+            LedgerService ledgerService,
+            LedgerEntryRepository ledgerEntryRepository,
+            AccountTransferTotalsService accountTransferTotalsService,
+            AccountInvariantService accountInvariantService,
+            ClusterCoordinator clusterCoordinator,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.consistency-check.mode:full}") ConsistencyCheckMode checkMode,
+            @Value("${app.consistency-check.full-reconciliation-interval-ms:300000}") long fullReconciliationIntervalMs,
+            @Value("${app.consistency-check.settle-window-ms:30000}") long settleWindowMs,
+            @Value("${app.consistency-check.issue-log-interval-ms:60000}") long issueLogIntervalMs) {
         this.accountRepository = accountRepository;
+        this.accountMetadataCache = accountMetadataCache;
         this.transferTransactionRepository = transferTransactionRepository;
+        this.ledgerService = ledgerService;
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.accountTransferTotalsService = accountTransferTotalsService;
+        this.accountInvariantService = accountInvariantService;
+        this.clusterCoordinator = clusterCoordinator;
+        this.checkTemplate = new TransactionTemplate(transactionManager);
+        this.checkTemplate.setReadOnly(true);
+        this.checkTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.meterRegistry = meterRegistry;
+        this.checkMode = checkMode;
+        this.fullReconciliationInterval = Duration.ofMillis(Math.max(0, fullReconciliationIntervalMs));
+        this.settleWindow = Duration.ofMillis(Math.max(0, settleWindowMs));
+        this.issueStore = new ConsistencyIssueStore(MAX_STORED_ISSUES, issueLogIntervalMs, LOG, meterRegistry);
     }
 
-    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
     @Scheduled(fixedRateString = "${app.consistency-check.fixed-rate-ms:3000}",
             initialDelayString = "${app.consistency-check.initial-delay-ms:15000}")
     public void runChecks() {
+        if (!clusterCoordinator.isLeader()) {
+            return;
+        }
+
+        long term = clusterCoordinator.leadershipTerm();
+        if (term != observedLeadershipTerm) {
+            observedLeadershipTerm = term;
+            baselineSnapshot = null;
+            transferWatermark = null;
+            commitTracker = null;
+            accountInvariantService.resetBaselines();
+            LOG.info("Consistency monitor active on this instance (leadership term {})", term);
+        }
+
+        checkTemplate.executeWithoutResult(status -> runLeaderChecks());
+    }
+
+    private void runLeaderChecks() {
+        long startedAt = System.nanoTime();
+        String runMode = "full";
         int detectedInThisRun = 0;
         try {
-            lastCheckedAt = LocalDateTime.now();
-            detectedInThisRun += checkNegativeBalances();
-            detectedInThisRun += checkSelfTransfers();
-            detectedInThisRun += checkNonPositiveTransfers();
-            detectedInThisRun += checkMissingAccountReferences();
-            detectedInThisRun += checkJoaoMariaLedgerInvariants();
+            LocalDateTime now = LocalDateTime.now();
+            lastCheckedAt = now;
+            if (accountInvariantService.isEnabled()) {
+                detectedInThisRun += timeCheck("account_invariants", this::checkAccountInvariants);
+            } else {
+                detectedInThisRun += timeCheck("negative_balances", this::checkNegativeBalances);
+            }
+
+            List<TransferTransaction> committed = timeCheck("commit_scan", () -> scanCommittedTransfers(now));
+            TransferWatermark watermark = transferWatermark;
+            if (checkMode == ConsistencyCheckMode.INCREMENTAL
+                    && watermark != null
+                    && watermark.reconciledAt.plus(fullReconciliationInterval).isAfter(now)) {
+                runMode = "incremental";
+                detectedInThisRun += runIncrementalChecks(watermark, committed);
+            } else {
+                detectedInThisRun += runFullChecks(now);
+            }
         } catch (Exception ex) {
             detectedInThisRun += addIssue(
                     "CHECK_RUNTIME_FAILURE",
                     "high",
-                    "Consistency check execution failed: " + ex.getMessage());
+                    () -> "Consistency check execution failed: " + ex.getMessage());
             LOG.warn("Consistency check execution failed", ex);
         } finally {
             issuesDetectedInLastRun = detectedInThisRun;
+            issueStore.recent();
+            Timer.builder("lab.consistency.run")
+                    .tag("mode", runMode)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
         }
     }
 
     public ConsistencySnapshot getSnapshot() {
-        List<ConsistencyIssue> issues;
-        synchronized (recentIssues) {
-            issues = new ArrayList<>(recentIssues);
-        }
-
         return new ConsistencySnapshot(
                 issuesDetectedInLastRun == 0,
                 lastCheckedAt,
                 issuesDetectedInLastRun,
-                issues);
+                clusterCoordinator.isLeader(),
+                clusterCoordinator.leaderInstance(),
+                recentIssues());
+    }
+
+    List<ConsistencyIssue> recentIssues() {
+        return issueStore.recent();
+    }
+
+    private int runFullChecks(LocalDateTime now) {
+        long selfTransfers = timeCheck("self_transfers", transferTransactionRepository::countSelfTransfers);
+        long nonPositiveTransfers = timeCheck(
+                "non_positive_amounts", transferTransactionRepository::countNonPositiveAmountTransfers);
+        long missingAccountTransfers = timeCheck(
+                "missing_account_references", transferTransactionRepository::countTransfersWithMissingAccounts);
+
+        int issues = 0;
+        issues += checkSelfTransfers(selfTransfers);
+        issues += checkNonPositiveTransfers(nonPositiveTransfers);
+        issues += checkMissingAccountReferences(missingAccountTransfers);
+        issues += timeCheck("ledger_invariants", () -> checkJoaoMariaLedgerInvariants(null));
+        if (ledgerService.isEnabled()) {
+            issues += timeCheck("double_entry", this::checkDoubleEntryLedger);
+        }
+
+        if (checkMode == ConsistencyCheckMode.INCREMENTAL) {
+            timeCheck("start_watermark", () -> {
+                startWatermark(now, selfTransfers, nonPositiveTransfers, missingAccountTransfers);
+                return null;
+            });
+        }
+
+        return issues;
+    }
+
+    private List<TransferTransaction> scanCommittedTransfers(LocalDateTime now) {
+        long horizon = transferTransactionRepository.currentSnapshotXmin();
+        CommitTracker tracker = commitTracker;
+        if (tracker == null) {
+            tracker = new CommitTracker(horizon);
+            for (TransferTransaction transfer : transferTransactionRepository.findCommittedSince(horizon)) {
+                tracker.markSeen(transfer);
+            }
+            commitTracker = tracker;
+            return List.of();
+        }
+
+        List<TransferTransaction> committed = new ArrayList<>();
+        for (TransferTransaction transfer : transferTransactionRepository.findCommittedSince(tracker.horizon)) {
+            if (tracker.markSeen(transfer)) {
+                committed.add(transfer);
+            }
+        }
+        tracker.advance(horizon);
+        logLateCommits(committed, now);
+        return committed;
+    }
+
+    private void logLateCommits(List<TransferTransaction> committed, LocalDateTime now) {
+        LocalDateTime settledBefore = now.minus(settleWindow);
+        TransferTransaction oldest = null;
+        int late = 0;
+        for (TransferTransaction transfer : committed) {
+            if (transfer.getOccurredAt() != null && transfer.getOccurredAt().isBefore(settledBefore)) {
+                late++;
+                if (oldest == null || transfer.getOccurredAt().isBefore(oldest.getOccurredAt())) {
+                    oldest = transfer;
+                }
+            }
+        }
+        if (late > 0) {
+            LOG.warn("{} transfer(s) became visible more than {} ms after occurred_at (oldest id={}, occurredAt={});"
+                            + " sums bounded by the settle window may have missed them",
+                    late, settleWindow.toMillis(), oldest.getId(), oldest.getOccurredAt());
+        }
+    }
+
+    private int runIncrementalChecks(TransferWatermark watermark, List<TransferTransaction> newTransfers) {
+        Set<Long> referencedAccountIds = new HashSet<>();
+        for (TransferTransaction transfer : newTransfers) {
+            referencedAccountIds.add(transfer.getOriginAccountId());
+            referencedAccountIds.add(transfer.getDestinationAccountId());
+        }
+        referencedAccountIds.remove(null);
+        Set<Long> accountIds = new HashSet<>();
+        if (!referencedAccountIds.isEmpty()) {
+            accountIds.addAll(accountRepository.findExistingIds(referencedAccountIds));
+        }
+
+        List<Long> newTransferIds = new ArrayList<>();
+        for (TransferTransaction transfer : newTransfers) {
+            newTransferIds.add(transfer.getId());
+
+            if (Objects.equals(transfer.getOriginAccountId(), transfer.getDestinationAccountId())) {
+                watermark.selfTransfers++;
+            }
+
+            if (transfer.getAmount() == null || transfer.getAmount().signum() <= 0) {
+                watermark.nonPositiveTransfers++;
+            }
+
+            if (!accountIds.contains(transfer.getOriginAccountId())
+                    || !accountIds.contains(transfer.getDestinationAccountId())) {
+                watermark.missingAccountTransfers++;
+            }
+
+            watermark.addMovement(transfer);
+        }
+
+        int issues = 0;
+        issues += checkSelfTransfers(watermark.selfTransfers);
+        issues += checkNonPositiveTransfers(watermark.nonPositiveTransfers);
+        issues += checkMissingAccountReferences(watermark.missingAccountTransfers);
+        issues += timeCheck("ledger_invariants", () -> checkJoaoMariaLedgerInvariants(watermark));
+        if (ledgerService.isEnabled()) {
+            issues += timeCheck("double_entry", () -> checkDoubleEntryIncrements(newTransferIds));
+        }
+        return issues;
+    }
+
+    private void startWatermark(
+            LocalDateTime now,
+            long selfTransfers,
+            long nonPositiveTransfers,
+            long missingAccountTransfers) {
+        TransferWatermark watermark = new TransferWatermark(now);
+        watermark.selfTransfers = selfTransfers;
+        watermark.nonPositiveTransfers = nonPositiveTransfers;
+        watermark.missingAccountTransfers = missingAccountTransfers;
+
+        BaselineSnapshot baseline = captureBaseline();
+        if (baseline != null) {
+            baselineSnapshot = baseline;
+        }
+        transferWatermark = watermark;
+    }
+
+    private BaselineSnapshot captureBaseline() {
+        Account joao = accountMetadataCache.findAccountByName(ORIGIN_ACCOUNT_NAME).orElse(null);
+        Account maria = accountMetadataCache.findAccountByName(DESTINATION_ACCOUNT_NAME).orElse(null);
+        if (joao == null || maria == null) {
+            return null;
+        }
+
+        Money joaoBalance = ledgerService.logicalBalance(joao);
+        Money mariaBalance = ledgerService.logicalBalance(maria);
+        if (joaoBalance == null || mariaBalance == null) {
+            return null;
+        }
+
+        return newBaseline(joao, maria, joaoBalance, mariaBalance);
+    }
+
+    private BaselineSnapshot newBaseline(Account joao, Account maria, Money joaoBalance, Money mariaBalance) {
+        boolean useTotals = accountTransferTotalsService.isEnabled();
+        return new BaselineSnapshot(
+                joao.getId(),
+                maria.getId(),
+                normalized(joaoBalance),
+                normalized(mariaBalance),
+                transferTransactionRepository.findMaxId(),
+                useTotals ? accountTransferTotalsService.totalsOf(joao.getId()) : null,
+                useTotals ? accountTransferTotalsService.totalsOf(maria.getId()) : null,
+                accountTransferTotalsService.generation());
     }
 
     private int checkNegativeBalances() {
         int issues = 0;
-        List<Account> accounts = accountRepository.findAll();
-        for (Account account : accounts) {
-            if (account.getBalance() == null) {
+        for (Object[] row : accountRepository.findNullOrNegativeLogicalBalances(
+                ledgerService.isEnabled(), MAX_STORED_ISSUES)) {
+            long accountId = ((Number) row[0]).longValue();
+            String name = (String) row[1];
+            if (row[2] == null) {
                 issues += addIssue(
                         "NULL_BALANCE",
                         "high",
-                        "Account " + account.getId() + " (" + account.getName() + ") has null balance.");
+                        "account:" + accountId,
+                        () -> "Account " + accountId + " (" + name + ") has null balance.");
                 continue;
             }
 
-            if (account.getBalance().compareTo(BigDecimal.ZERO) < 0) {
-                issues += addIssue(
-                        "NEGATIVE_BALANCE",
-                        "critical",
-                        "Account " + account.getId() + " (" + account.getName()
-                                + ") has negative balance: " + account.getBalance());
-            }
+            Money balance = Money.of((BigDecimal) row[2]);
+            issues += addIssue(
+                    "NEGATIVE_BALANCE",
+                    "critical",
+                    "account:" + accountId,
+                    () -> "Account " + accountId + " (" + name + ") has negative balance: " + balance);
+        }
+
+        return issues;
+    }
+
+    private int checkAccountInvariants() {
+        AccountInvariantService.PassResult pass = accountInvariantService.check();
+        int issues = 0;
+        if (pass.nullBalanceAccounts() > 0) {
+            issues += addIssue(
+                    "NULL_BALANCE",
+                    "high",
+                    () -> "Detected " + pass.nullBalanceAccounts() + " account(s) with null balance. sample="
+                            + pass.nullBalanceSample());
+        }
+
+        if (pass.negativeBalanceAccounts() > 0) {
+            issues += addIssue(
+                    "NEGATIVE_BALANCE",
+                    "critical",
+                    () -> "Detected " + pass.negativeBalanceAccounts() + " account(s) with negative balance. sample="
+                            + pass.negativeBalanceSample());
+        }
+
+        if (pass.mismatchedAccounts() > 0) {
+            issues += addIssue(
+                    "ACCOUNT_LEDGER_MISMATCH",
+                    "critical",
+                    () -> "Detected " + pass.mismatchedAccounts() + " account(s) whose balance moved differently from"
+                            + " their transfer totals since the baseline. sample=" + pass.mismatchSample());
+        }
+
+        if (!pass.moneyDrift().isZero()) {
+            issues += addIssue(
+                    "MONEY_NOT_CONSERVED",
+                    "critical",
+                    () -> "Total money across " + pass.accounts() + " account(s) drifted from the baseline by "
+                            + pass.moneyDrift());
+        }
+
+        if (!pass.netFlow().isZero()) {
+            issues += addIssue(
+                    "TRANSFER_FLOW_IMBALANCE",
+                    "critical",
+                    () -> "Account transfer totals are unbalanced: total in - total out = " + pass.netFlow());
         }
 
         return issues;
     }
 
-    private int checkSelfTransfers() {
-        long count = transferTransactionRepository.countSelfTransfers();
+    private int checkSelfTransfers(long count) {
         if (count <= 0) {
             return 0;
         }
@@ -106,11 +396,10 @@ public class ConsistencyMonitorService {
         return addIssue(
                 "SELF_TRANSFER_DETECTED",
                 "high",
-                "Detected " + count + " transfer(s) where origin and destination are the same account.");
+                () -> "Detected " + count + " transfer(s) where origin and destination are the same account.");
     }
 
-    private int checkNonPositiveTransfers() {
-        long count = transferTransactionRepository.countNonPositiveAmountTransfers();
+    private int checkNonPositiveTransfers(long count) {
         if (count <= 0) {
             return 0;
         }
@@ -118,11 +407,10 @@ public class ConsistencyMonitorService {
         return addIssue(
                 "NON_POSITIVE_TRANSFER_AMOUNT",
                 "high",
-                "Detected " + count + " transfer(s) with amount <= 0.");
+                () -> "Detected " + count + " transfer(s) with amount <= 0.");
     }
 
-    private int checkMissingAccountReferences() {
-        long count = transferTransactionRepository.countTransfersWithMissingAccounts();
+    private int checkMissingAccountReferences(long count) {
         if (count <= 0) {
             return 0;
         }
@@ -130,167 +418,312 @@ public class ConsistencyMonitorService {
         return addIssue(
                 "MISSING_ACCOUNT_REFERENCE",
                 "critical",
-                "Detected " + count + " transfer(s) referencing missing account(s).");
+                () -> "Detected " + count + " transfer(s) referencing missing account(s).");
+    }
+
+    private int checkDoubleEntryLedger() {
+        int issues = 0;
+        Money entriesTotal = Money.of(ledgerEntryRepository.sumAllEntries());
+        if (!entriesTotal.isZero()) {
+            issues += addIssue(
+                    "LEDGER_ENTRIES_UNBALANCED",
+                    "critical",
+                    () -> "Ledger entries do not sum to zero: total=" + entriesTotal);
+        }
+
+        issues += checkUnbalancedTransfers(ledgerEntryRepository.countUnbalancedTransfers());
+
+        long snapshotMismatches = ledgerEntryRepository.countSnapshotMismatches();
+        if (snapshotMismatches > 0) {
+            issues += addIssue(
+                    "LEDGER_SNAPSHOT_MISMATCH",
+                    "critical",
+                    () -> "Detected " + snapshotMismatches
+                            + " ledger snapshot(s) that differ from the entries they compacted.");
+        }
+
+        return issues;
+    }
+
+    private int checkDoubleEntryIncrements(List<Long> newTransferIds) {
+        int issues = 0;
+        Money openTotal = Money.of(ledgerEntryRepository.sumSnapshotsAndUncompactedEntries());
+        if (!openTotal.isZero()) {
+            issues += addIssue(
+                    "LEDGER_ENTRIES_UNBALANCED",
+                    "critical",
+                    () -> "Ledger snapshots plus uncompacted entries do not sum to zero: total=" + openTotal);
+        }
+
+        if (!newTransferIds.isEmpty()) {
+            issues += checkUnbalancedTransfers(ledgerEntryRepository.countUnbalancedTransfers(newTransferIds));
+        }
+
+        return issues;
+    }
+
+    private int checkUnbalancedTransfers(long count) {
+        if (count <= 0) {
+            return 0;
+        }
+
+        return addIssue(
+                "UNBALANCED_LEDGER_TRANSFER",
+                "critical",
+                () -> "Detected " + count + " transfer(s) whose ledger entries are not one debit and one matching credit.");
     }
 
-    private int checkJoaoMariaLedgerInvariants() {
-        Account joao = accountRepository.findByNameIgnoreCase(ORIGIN_ACCOUNT_NAME).orElse(null);
-        Account maria = accountRepository.findByNameIgnoreCase(DESTINATION_ACCOUNT_NAME).orElse(null);
+    private int checkJoaoMariaLedgerInvariants(TransferWatermark runningTotals) {
+        Account joao = accountMetadataCache.findAccountByName(ORIGIN_ACCOUNT_NAME).orElse(null);
+        Account maria = accountMetadataCache.findAccountByName(DESTINATION_ACCOUNT_NAME).orElse(null);
 
         if (joao == null || maria == null) {
             return addIssue(
                     "BASELINE_ACCOUNTS_NOT_FOUND",
                     "medium",
-                    "Could not find both baseline accounts: Joao and Maria.");
+                    () -> "Could not find both baseline accounts: Joao and Maria.");
         }
 
-        if (joao.getBalance() == null || maria.getBalance() == null) {
+        Money joaoBalance = ledgerService.logicalBalance(joao);
+        Money mariaBalance = ledgerService.logicalBalance(maria);
+        if (joaoBalance == null || mariaBalance == null) {
             return addIssue(
                     "BASELINE_ACCOUNTS_INVALID",
                     "high",
-                    "Joao or Maria has null balance. Unable to validate ledger invariants.");
+                    () -> "Joao or Maria has null balance. Unable to validate ledger invariants.");
         }
 
         BaselineSnapshot baseline = baselineSnapshot;
-        if (baseline == null || baseline.shouldReset(joao.getId(), maria.getId())) {
-            baseline = BaselineSnapshot.fromCurrentState(joao, maria, transferTransactionRepository.findMaxId());
+        if (baseline == null
+                || baseline.shouldReset(joao.getId(), maria.getId(), accountTransferTotalsService.generation())) {
+            baseline = newBaseline(joao, maria, joaoBalance, mariaBalance);
             baselineSnapshot = baseline;
+            if (runningTotals != null) {
+                runningTotals.resetMovements();
+            }
             LOG.info("Consistency baseline initialized: joaoId={}, mariaId={}, fromTransferId={}",
                     baseline.joaoId, baseline.mariaId, baseline.maxTransferId);
             return 0;
         }
 
         int issues = 0;
-        BigDecimal joaoActual = normalized(joao.getBalance());
-        BigDecimal mariaActual = normalized(maria.getBalance());
-
-        BigDecimal joaoOutgoing = normalized(
-                transferTransactionRepository.sumOutgoingSince(joao.getId(), baseline.maxTransferId));
-        BigDecimal joaoIncoming = normalized(
-                transferTransactionRepository.sumIncomingSince(joao.getId(), baseline.maxTransferId));
-
-        BigDecimal mariaOutgoing = normalized(
-                transferTransactionRepository.sumOutgoingSince(maria.getId(), baseline.maxTransferId));
-        BigDecimal mariaIncoming = normalized(
-                transferTransactionRepository.sumIncomingSince(maria.getId(), baseline.maxTransferId));
+        Money joaoActual = normalized(joaoBalance);
+        Money mariaActual = normalized(mariaBalance);
+
+        Money joaoOutgoing;
+        Money joaoIncoming;
+        Money mariaOutgoing;
+        Money mariaIncoming;
+        if (runningTotals != null) {
+            joaoOutgoing = runningTotals.outgoing(joao.getId());
+            joaoIncoming = runningTotals.incoming(joao.getId());
+            mariaOutgoing = runningTotals.outgoing(maria.getId());
+            mariaIncoming = runningTotals.incoming(maria.getId());
+        } else if (baseline.joaoTotals != null && baseline.mariaTotals != null) {
+            AccountTransferTotalsService.Totals joaoTotals = accountTransferTotalsService.totalsOf(joao.getId());
+            AccountTransferTotalsService.Totals mariaTotals = accountTransferTotalsService.totalsOf(maria.getId());
+            joaoOutgoing = joaoTotals.totalOut().minus(baseline.joaoTotals.totalOut());
+            joaoIncoming = joaoTotals.totalIn().minus(baseline.joaoTotals.totalIn());
+            mariaOutgoing = mariaTotals.totalOut().minus(baseline.mariaTotals.totalOut());
+            mariaIncoming = mariaTotals.totalIn().minus(baseline.mariaTotals.totalIn());
+        } else {
+            LocalDateTime fromOccurredAt = baseline.capturedAt.minus(settleWindow);
+            joaoOutgoing = normalized(Money.of(
+                    transferTransactionRepository.sumOutgoingSince(
+                            joao.getId(), baseline.maxTransferId, fromOccurredAt)));
+            joaoIncoming = normalized(Money.of(
+                    transferTransactionRepository.sumIncomingSince(
+                            joao.getId(), baseline.maxTransferId, fromOccurredAt)));
+
+            mariaOutgoing = normalized(Money.of(
+                    transferTransactionRepository.sumOutgoingSince(
+                            maria.getId(), baseline.maxTransferId, fromOccurredAt)));
+            mariaIncoming = normalized(Money.of(
+                    transferTransactionRepository.sumIncomingSince(
+                            maria.getId(), baseline.maxTransferId, fromOccurredAt)));
+        }
 
-        BigDecimal joaoExpected = baseline.joaoBalance.subtract(joaoOutgoing).add(joaoIncoming);
-        BigDecimal mariaExpected = baseline.mariaBalance.subtract(mariaOutgoing).add(mariaIncoming);
-        BigDecimal joaoDelta = joaoActual.subtract(joaoExpected);
-        BigDecimal mariaDelta = mariaActual.subtract(mariaExpected);
+        long baselineTransferId = baseline.maxTransferId;
+        Money joaoExpected = baseline.joaoBalance.minus(joaoOutgoing).plus(joaoIncoming);
+        Money mariaExpected = baseline.mariaBalance.minus(mariaOutgoing).plus(mariaIncoming);
+        Money joaoDelta = joaoActual.minus(joaoExpected);
+        Money mariaDelta = mariaActual.minus(mariaExpected);
 
-        BigDecimal expectedTotal = baseline.joaoBalance.add(baseline.mariaBalance);
-        BigDecimal actualTotal = joaoActual.add(mariaActual);
-        BigDecimal totalDelta = actualTotal.subtract(expectedTotal);
+        Money expectedTotal = baseline.joaoBalance.plus(baseline.mariaBalance);
+        Money actualTotal = joaoActual.plus(mariaActual);
+        Money totalDelta = actualTotal.minus(expectedTotal);
 
         if (isBaselineDriftSignature(joaoDelta, mariaDelta, totalDelta)) {
-            baselineSnapshot = BaselineSnapshot.fromCurrentState(
-                    joao,
-                    maria,
-                    transferTransactionRepository.findMaxId());
+            baselineSnapshot = newBaseline(joao, maria, joaoBalance, mariaBalance);
+            if (runningTotals != null) {
+                runningTotals.resetMovements();
+            }
             LOG.info("Consistency baseline recalibrated due to mirrored account drift: joaoDelta={}, mariaDelta={}",
                     joaoDelta, mariaDelta);
             return 0;
         }
 
-        if (joaoDelta.compareTo(BigDecimal.ZERO) != 0) {
+        if (!joaoDelta.isZero()) {
             issues += addIssue(
                     "LEDGER_MISMATCH_JOAO",
                     "critical",
-                    "Joao balance mismatch. expected=" + joaoExpected + ", actual=" + joaoActual
-                            + ", baselineTransferId=" + baseline.maxTransferId);
+                    () -> "Joao balance mismatch. expected=" + joaoExpected + ", actual=" + joaoActual
+                            + ", baselineTransferId=" + baselineTransferId);
         }
 
-        if (mariaDelta.compareTo(BigDecimal.ZERO) != 0) {
+        if (!mariaDelta.isZero()) {
             issues += addIssue(
                     "LEDGER_MISMATCH_MARIA",
                     "critical",
-                    "Maria balance mismatch. expected=" + mariaExpected + ", actual=" + mariaActual
-                            + ", baselineTransferId=" + baseline.maxTransferId);
+                    () -> "Maria balance mismatch. expected=" + mariaExpected + ", actual=" + mariaActual
+                            + ", baselineTransferId=" + baselineTransferId);
         }
 
-        if (totalDelta.compareTo(BigDecimal.ZERO) != 0) {
+        if (!totalDelta.isZero()) {
             issues += addIssue(
                     "TOTAL_BALANCE_DRIFT",
                     "critical",
-                    "Joao+Maria total balance drift. expectedTotal=" + expectedTotal
+                    () -> "Joao+Maria total balance drift. expectedTotal=" + expectedTotal
                             + ", actualTotal=" + actualTotal);
         }
 
         return issues;
     }
 
-    private static BigDecimal normalized(BigDecimal value) {
-        return value == null ? BigDecimal.ZERO : value;
+    private static Money normalized(Money value) {
+        return value == null ? Money.ZERO : value;
     }
 
     private static boolean isBaselineDriftSignature(
-            BigDecimal joaoDelta,
-            BigDecimal mariaDelta,
-            BigDecimal totalDelta) {
-        return joaoDelta.compareTo(BigDecimal.ZERO) != 0
-                && mariaDelta.compareTo(BigDecimal.ZERO) != 0
-                && joaoDelta.add(mariaDelta).compareTo(BigDecimal.ZERO) == 0
-                && totalDelta.compareTo(BigDecimal.ZERO) == 0;
+            Money joaoDelta,
+            Money mariaDelta,
+            Money totalDelta) {
+        return !joaoDelta.isZero()
+                && !mariaDelta.isZero()
+                && joaoDelta.plus(mariaDelta).isZero()
+                && totalDelta.isZero();
     }
 
-    private int addIssue(String code, String severity, String message) {
-        ConsistencyIssue issue = new ConsistencyIssue(code, severity, message, LocalDateTime.now());
-        synchronized (recentIssues) {
-            recentIssues.addFirst(issue);
-            while (recentIssues.size() > MAX_STORED_ISSUES) {
-                recentIssues.removeLast();
-            }
-        }
-        LOG.warn("[{}] {}", code, message);
+    private <T> T timeCheck(String check, Supplier<T> body) {
+        return Timer.builder("lab.consistency.check")
+                .tag("check", check)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(body);
+    }
+
+    int addIssue(String code, String severity, Supplier<String> message) {
+        return addIssue(code, severity, null, message);
+    }
+
+    int addIssue(String code, String severity, String subject, Supplier<String> message) {
+        issueStore.record(code, severity, subject, message);
         return 1;
     }
 
     public record ConsistencyIssue(
             String code,
             String severity,
+            String subject,
             String message,
-            LocalDateTime detectedAt) {
+            LocalDateTime firstSeenAt,
+            LocalDateTime lastSeenAt,
+            long occurrences) {
     }
 
     public record ConsistencySnapshot(
             boolean healthy,
             LocalDateTime lastCheckedAt,
             int issuesDetectedInLastRun,
+            boolean monitorActive,
+            String monitorInstance,
             List<ConsistencyIssue> recentIssues) {
     }
 
     private static final class BaselineSnapshot {
         private final Long joaoId;
         private final Long mariaId;
-        private final BigDecimal joaoBalance;
-        private final BigDecimal mariaBalance;
+        private final Money joaoBalance;
+        private final Money mariaBalance;
         private final long maxTransferId;
+        private final AccountTransferTotalsService.Totals joaoTotals;
+        private final AccountTransferTotalsService.Totals mariaTotals;
+        private final long totalsGeneration;
+        private final LocalDateTime capturedAt = LocalDateTime.now();
 
         private BaselineSnapshot(
                 Long joaoId,
                 Long mariaId,
-                BigDecimal joaoBalance,
-                BigDecimal mariaBalance,
-                long maxTransferId) {
+                Money joaoBalance,
+                Money mariaBalance,
+                long maxTransferId,
+                AccountTransferTotalsService.Totals joaoTotals,
+                AccountTransferTotalsService.Totals mariaTotals,
+                long totalsGeneration) {
             this.joaoId = joaoId;
             this.mariaId = mariaId;
             this.joaoBalance = joaoBalance;
             this.mariaBalance = mariaBalance;
             this.maxTransferId = maxTransferId;
+            this.joaoTotals = joaoTotals;
+            this.mariaTotals = mariaTotals;
+            this.totalsGeneration = totalsGeneration;
+        }
+
+        private boolean shouldReset(Long currentJoaoId, Long currentMariaId, long currentTotalsGeneration) {
+            return !Objects.equals(joaoId, currentJoaoId)
+                    || !Objects.equals(mariaId, currentMariaId)
+                    || totalsGeneration != currentTotalsGeneration;
+        }
+    }
+
+    private static final class CommitTracker {
+        private final Map<Long, Long> unsettledTransfers = new HashMap<>();
+        private long horizon;
+
+        private CommitTracker(long horizon) {
+            this.horizon = horizon;
+        }
+
+        private boolean markSeen(TransferTransaction transfer) {
+            return unsettledTransfers.putIfAbsent(transfer.getId(), transfer.getTxId()) == null;
+        }
+
+        private void advance(long newHorizon) {
+            horizon = newHorizon;
+            unsettledTransfers.values().removeIf(txId -> txId < newHorizon);
+        }
+    }
+
+    private static final class TransferWatermark {
+        private final LocalDateTime reconciledAt;
+        private final Map<Long, Money> outgoingByAccount = new HashMap<>();
+        private final Map<Long, Money> incomingByAccount = new HashMap<>();
+        private long selfTransfers;
+        private long nonPositiveTransfers;
+        private long missingAccountTransfers;
+
+        private TransferWatermark(LocalDateTime reconciledAt) {
+            this.reconciledAt = reconciledAt;
+        }
+
+        private void addMovement(TransferTransaction transfer) {
+            Money amount = normalized(transfer.getAmount());
+            outgoingByAccount.merge(transfer.getOriginAccountId(), amount, Money::plus);
+            incomingByAccount.merge(transfer.getDestinationAccountId(), amount, Money::plus);
+        }
+
+        private Money outgoing(Long accountId) {
+            return outgoingByAccount.getOrDefault(accountId, Money.ZERO);
         }
 
-        private static BaselineSnapshot fromCurrentState(Account joao, Account maria, long maxTransferId) {
-            return new BaselineSnapshot(
-                    joao.getId(),
-                    maria.getId(),
-                    normalized(joao.getBalance()),
-                    normalized(maria.getBalance()),
-                    maxTransferId);
+        private Money incoming(Long accountId) {
+            return incomingByAccount.getOrDefault(accountId, Money.ZERO);
         }
 
-        private boolean shouldReset(Long currentJoaoId, Long currentMariaId) {
-            return !Objects.equals(joaoId, currentJoaoId) || !Objects.equals(mariaId, currentMariaId);
+        private void resetMovements() {
+            outgoingByAccount.clear();
+            incomingByAccount.clear();
         }
     }
 }
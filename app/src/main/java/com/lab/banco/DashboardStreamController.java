@@ -0,0 +1,21 @@
+package com.lab.banco;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+public class DashboardStreamController {
+
+    private final DashboardStreamService dashboardStreamService;
+
+    public DashboardStreamController(DashboardStreamService dashboardStreamService) {
+        this.dashboardStreamService = dashboardStreamService;
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream() {
+        return dashboardStreamService.subscribe();
+    }
+}
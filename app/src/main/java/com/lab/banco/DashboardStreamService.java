@@ -0,0 +1,251 @@
+package com.lab.banco;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@Service
+public class DashboardStreamService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DashboardStreamService.class);
+    private static final String TRANSFERS_EVENT = "transfers";
+    private static final String CONSISTENCY_EVENT = "consistency";
+
+    private final TransferTransactionRepository transferTransactionRepository;
+    private final TransferResponseMapper transferResponseMapper;
+    private final ConsistencyMonitorService consistencyMonitorService;
+    private final ObjectMapper objectMapper;
+    private final long emitterTimeoutMs;
+    private final int transferWindow;
+    private final long sendTimeoutMs;
+    private final int maxPendingEvents;
+    private final ExecutorService sendExecutor;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    private volatile List<TransactionController.TransferResponse> latestTransfers = List.of();
+    private volatile Set<Long> latestTransferIds = Set.of();
+    private volatile ConsistencyState lastConsistencyState;
+
+    public DashboardStreamService(
+            TransferTransactionRepository transferTransactionRepository,
+            TransferResponseMapper transferResponseMapper,
+            ConsistencyMonitorService consistencyMonitorService,
+            ObjectMapper objectMapper,
+            @Value("${app.stream.emitter-timeout-ms:1800000}") long emitterTimeoutMs,
+            @Value("${app.stream.transfer-window:50}") int transferWindow,
+            @Value("${app.stream.send-threads:2}") int sendThreads,
+            @Value("${app.stream.send-timeout-ms:5000}") long sendTimeoutMs,
+            @Value("${app.stream.max-pending-events:20}") int maxPendingEvents) {
+        this.transferTransactionRepository = transferTransactionRepository;
+        this.transferResponseMapper = transferResponseMapper;
+        this.consistencyMonitorService = consistencyMonitorService;
+        this.objectMapper = objectMapper;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.transferWindow = Math.max(1, transferWindow);
+        this.sendTimeoutMs = Math.max(1, sendTimeoutMs);
+        this.maxPendingEvents = Math.max(1, maxPendingEvents);
+        this.sendExecutor = Executors.newFixedThreadPool(Math.max(1, sendThreads), senderThreadFactory());
+    }
+
+    @PreDestroy
+    public void stop() {
+        sendExecutor.shutdownNow();
+    }
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> {
+            subscribers.remove(subscriber);
+            emitter.complete();
+        });
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+
+        enqueue(subscriber, TRANSFERS_EVENT, serialize(latestTransfers));
+        enqueue(subscriber, CONSISTENCY_EVENT, serialize(consistencyMonitorService.getSnapshot()));
+        return emitter;
+    }
+
+    @Scheduled(fixedRateString = "${app.stream.poll-interval-ms:1000}",
+            initialDelayString = "${app.stream.poll-interval-ms:1000}")
+    public void publishUpdates() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        try {
+            dropStalledSubscribers();
+            publishNewTransfers();
+            publishConsistencyChange();
+        } catch (Exception ex) {
+            LOG.warn("Failed to publish dashboard updates", ex);
+        }
+    }
+
+    private void publishNewTransfers() {
+        List<TransferTransaction> window = transferTransactionRepository
+                .findHistoryPage(TransferHistoryQuery.unfiltered(), null, transferWindow);
+        Set<Long> previousIds = latestTransferIds;
+
+        Set<Long> windowIds = new HashSet<>();
+        for (TransferTransaction transfer : window) {
+            windowIds.add(transfer.getId());
+        }
+        if (previousIds.containsAll(windowIds)) {
+            return;
+        }
+
+        List<TransactionController.TransferResponse> responses = transferResponseMapper.map(window);
+        List<TransactionController.TransferResponse> fresh = responses.stream()
+                .filter(transfer -> !previousIds.contains(transfer.id()))
+                .toList();
+
+        latestTransfers = responses;
+        latestTransferIds = Set.copyOf(windowIds);
+        broadcast(TRANSFERS_EVENT, fresh);
+    }
+
+    private void publishConsistencyChange() {
+        ConsistencyMonitorService.ConsistencySnapshot snapshot = consistencyMonitorService.getSnapshot();
+        ConsistencyState state = ConsistencyState.of(snapshot);
+        if (state.equals(lastConsistencyState)) {
+            return;
+        }
+
+        lastConsistencyState = state;
+        broadcast(CONSISTENCY_EVENT, snapshot);
+    }
+
+    private void broadcast(String eventName, Object payload) {
+        String json = serialize(payload);
+        for (Subscriber subscriber : subscribers) {
+            enqueue(subscriber, eventName, json);
+        }
+    }
+
+    private String serialize(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialize dashboard event", ex);
+        }
+    }
+
+    private void dropStalledSubscribers() {
+        long now = System.currentTimeMillis();
+        for (Subscriber subscriber : subscribers) {
+            long busySince = subscriber.busySince;
+            if (busySince > 0 && now - busySince > sendTimeoutMs) {
+                LOG.warn("Dropping dashboard subscriber blocked on send for {} ms", now - busySince);
+                drop(subscriber);
+            }
+        }
+    }
+
+    private void enqueue(Subscriber subscriber, String eventName, String json) {
+        if (subscriber.pending.incrementAndGet() > maxPendingEvents) {
+            LOG.warn("Dropping dashboard subscriber with {} pending events", maxPendingEvents);
+            drop(subscriber);
+            return;
+        }
+
+        synchronized (subscriber) {
+            try {
+                subscriber.tail = subscriber.tail
+                        .thenRunAsync(() -> send(subscriber, eventName, json), sendExecutor);
+            } catch (RejectedExecutionException ex) {
+                subscribers.remove(subscriber);
+            }
+        }
+    }
+
+    private void send(Subscriber subscriber, String eventName, String json) {
+        try {
+            if (!subscriber.dropped) {
+                subscriber.busySince = System.currentTimeMillis();
+                subscriber.emitter.send(SseEmitter.event().name(eventName).data(json, MediaType.APPLICATION_JSON));
+            }
+        } catch (IOException | IllegalStateException ex) {
+            subscribers.remove(subscriber);
+        } finally {
+            subscriber.busySince = 0;
+            subscriber.pending.decrementAndGet();
+        }
+    }
+
+    private void drop(Subscriber subscriber) {
+        if (subscriber.dropped) {
+            return;
+        }
+        subscriber.dropped = true;
+        subscribers.remove(subscriber);
+        synchronized (subscriber) {
+            subscriber.tail = subscriber.tail.whenCompleteAsync((ignored, error) -> {
+                try {
+                    subscriber.emitter.complete();
+                } catch (IllegalStateException ex) {
+                    LOG.debug("Dashboard subscriber already completed", ex);
+                }
+            }, sendExecutor);
+        }
+    }
+
+    private static ThreadFactory senderThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "dashboard-stream-sender-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final AtomicInteger pending = new AtomicInteger();
+        private CompletableFuture<Void> tail = CompletableFuture.completedFuture(null);
+        private volatile long busySince;
+        private volatile boolean dropped;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+
+    private record ConsistencyState(
+            boolean healthy,
+            int issuesDetectedInLastRun,
+            String monitorInstance,
+            LocalDateTime newestIssueAt) {
+
+        private static ConsistencyState of(ConsistencyMonitorService.ConsistencySnapshot snapshot) {
+            List<ConsistencyMonitorService.ConsistencyIssue> issues = snapshot.recentIssues();
+            return new ConsistencyState(
+                    snapshot.healthy(),
+                    snapshot.issuesDetectedInLastRun(),
+                    snapshot.monitorInstance(),
+                    issues.isEmpty() ? null : issues.get(0).lastSeenAt());
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.lab.banco;
+
+import javax.sql.DataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+@Configuration(proxyBeanMethods = false)
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource writerDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName(ReadWriteRoutingDataSource.WRITER);
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.reader.hikari")
+    public HikariDataSource readerDataSource(
+            DataSourceProperties properties,
+            @Value("${app.datasource.reader.url:}") String url,
+            @Value("${app.datasource.reader.username:}") String username,
+            @Value("${app.datasource.reader.password:}") String password) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName(ReadWriteRoutingDataSource.READER);
+        dataSource.setReadOnly(true);
+        if (!url.isBlank()) {
+            dataSource.setJdbcUrl(url);
+        }
+        if (!username.isBlank()) {
+            dataSource.setUsername(username);
+        }
+        if (!password.isBlank()) {
+            dataSource.setPassword(password);
+        }
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("writerDataSource") HikariDataSource writerDataSource,
+            @Qualifier("readerDataSource") HikariDataSource readerDataSource,
+            @Value("${app.datasource.routing-enabled:true}") boolean routingEnabled) {
+        DataSource reader = routingEnabled ? readerDataSource : writerDataSource;
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(writerDataSource, reader));
+    }
+
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor transferPartitionsBeforeJpa() {
+        return new EntityManagerFactoryDependsOnPostProcessor(TransferPartitionService.class);
+    }
+}
@@ -0,0 +1,47 @@
+package com.lab.banco;
+
+import java.util.List;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class DataSourceController {
+
+    private final HikariDataSource writerDataSource;
+    private final HikariDataSource readerDataSource;
+
+    public DataSourceController(
+            @Qualifier("writerDataSource") HikariDataSource writerDataSource,
+            @Qualifier("readerDataSource") HikariDataSource readerDataSource) {
+        this.writerDataSource = writerDataSource;
+        this.readerDataSource = readerDataSource;
+    }
+
+    @GetMapping("/datasource/stats")
+    public List<PoolStats> dataSourceStats() {
+        return List.of(poolStats(writerDataSource), poolStats(readerDataSource));
+    }
+
+    private static PoolStats poolStats(HikariDataSource dataSource) {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        return new PoolStats(
+                dataSource.getPoolName(),
+                dataSource.getJdbcUrl(),
+                dataSource.getMaximumPoolSize(),
+                pool == null ? 0 : pool.getActiveConnections(),
+                pool == null ? 0 : pool.getIdleConnections(),
+                pool == null ? 0 : pool.getThreadsAwaitingConnection());
+    }
+
+    public record PoolStats(
+            String pool,
+            String jdbcUrl,
+            int maximumPoolSize,
+            int activeConnections,
+            int idleConnections,
+            int threadsAwaitingConnection) {
+    }
+}
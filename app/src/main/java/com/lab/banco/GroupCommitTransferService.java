@@ -0,0 +1,172 @@
+package com.lab.banco;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+@Service
+public class GroupCommitTransferService implements SmartLifecycle {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GroupCommitTransferService.class);
+    private static final long IDLE_POLL_MS = 100;
+
+    private final TransferService transferService;
+    private final BlockingQueue<PendingTransfer> queue;
+    private final int maxBatchSize;
+    private final long maxLingerNanos;
+    private final long retryAfterSeconds;
+    private final LongAdder commits = new LongAdder();
+    private final LongAdder committedRequests = new LongAdder();
+
+    private volatile boolean running;
+    private volatile Thread writer;
+
+    public GroupCommitTransferService(
+            TransferService transferService,
+            @Value("${app.group-commit.queue-capacity:10000}") int queueCapacity,
+            @Value("${app.group-commit.max-batch-size:200}") int maxBatchSize,
+            @Value("${app.group-commit.max-linger-ms:5}") long maxLingerMs,
+            @Value("${app.group-commit.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.transferService = transferService;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.maxLingerNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, maxLingerMs));
+        this.retryAfterSeconds = Math.max(1, retryAfterSeconds);
+    }
+
+    public CompletableFuture<TransferResult> submit(TransferRequest request) {
+        if (!running) {
+            return CompletableFuture.failedFuture(new GroupCommitRejectedException(
+                    "Group commit writer is not running",
+                    retryAfterSeconds));
+        }
+
+        PendingTransfer pending = new PendingTransfer(request, new CompletableFuture<>());
+        if (!queue.offer(pending)) {
+            return CompletableFuture.failedFuture(new GroupCommitRejectedException(
+                    "Group commit queue is full",
+                    retryAfterSeconds));
+        }
+        return pending.future();
+    }
+
+    public GroupCommitStats getStats() {
+        long commitCount = commits.sum();
+        long requestCount = committedRequests.sum();
+        return new GroupCommitStats(
+                queue.size(),
+                commitCount,
+                requestCount,
+                commitCount == 0 ? 0.0 : (double) requestCount / commitCount,
+                maxBatchSize,
+                TimeUnit.NANOSECONDS.toMillis(maxLingerNanos));
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        Thread thread = new Thread(this::drainLoop, "group-commit-writer");
+        thread.setDaemon(true);
+        writer = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = writer;
+        if (thread == null) {
+            return;
+        }
+
+        thread.interrupt();
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void drainLoop() {
+        List<PendingTransfer> batch = new ArrayList<>(maxBatchSize);
+        try {
+            while (running) {
+                PendingTransfer first = queue.poll(IDLE_POLL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                fillBatch(batch);
+                commit(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            queue.drainTo(batch);
+            GroupCommitRejectedException shutdown = new GroupCommitRejectedException(
+                    "Group commit writer stopped",
+                    retryAfterSeconds);
+            batch.forEach(pending -> pending.future().completeExceptionally(shutdown));
+        }
+    }
+
+    private void fillBatch(List<PendingTransfer> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + maxLingerNanos;
+        while (batch.size() < maxBatchSize) {
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= maxBatchSize || remaining <= 0) {
+                return;
+            }
+
+            PendingTransfer next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void commit(List<PendingTransfer> batch) {
+        List<TransferRequest> requests = batch.stream().map(PendingTransfer::request).toList();
+        try {
+            List<TransferResult> results = transferService.transferGroup(requests);
+            commits.increment();
+            committedRequests.add(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).future().complete(results.get(i));
+            }
+        } catch (RuntimeException ex) {
+            LOG.warn("Group commit of {} transfer(s) failed", batch.size(), ex);
+            batch.forEach(pending -> pending.future().completeExceptionally(ex));
+        }
+    }
+
+    private record PendingTransfer(TransferRequest request, CompletableFuture<TransferResult> future) {
+    }
+
+    public record GroupCommitStats(
+            int queuedTransfers,
+            long commits,
+            long transfers,
+            double averageTransfersPerCommit,
+            int maxBatchSize,
+            long maxLingerMs) {
+    }
+}
@@ -0,0 +1,108 @@
+package com.lab.banco;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+final class IdempotencyKeyFilter {
+
+    private final int keysPerGeneration;
+    private final int bitCount;
+    private final int hashCount;
+
+    private volatile Generation current;
+    private volatile Generation previous;
+
+    IdempotencyKeyFilter(int keysPerGeneration, double falsePositiveRate) {
+        this.keysPerGeneration = Math.max(1, keysPerGeneration);
+        double rate = Math.max(1e-6, Math.min(0.5, falsePositiveRate));
+        double bits = -this.keysPerGeneration * Math.log(rate) / (Math.log(2) * Math.log(2));
+        this.bitCount = (int) Math.max(64, Math.min(Integer.MAX_VALUE - 63, Math.ceil(bits)));
+        this.hashCount = (int) Math.max(1, Math.round((double) bitCount / this.keysPerGeneration * Math.log(2)));
+        this.current = new Generation(bitCount);
+        this.previous = new Generation(bitCount);
+    }
+
+    boolean mightContain(String key) {
+        long hash = hash(key);
+        return current.mightContain(hash, hashCount) || previous.mightContain(hash, hashCount);
+    }
+
+    void put(String key) {
+        Generation generation = current;
+        generation.put(hash(key), hashCount);
+        if (generation.size.incrementAndGet() >= keysPerGeneration) {
+            rotate(generation);
+        }
+    }
+
+    int bitCount() {
+        return bitCount;
+    }
+
+    int hashCount() {
+        return hashCount;
+    }
+
+    int currentGenerationSize() {
+        return current.size.get();
+    }
+
+    private synchronized void rotate(Generation full) {
+        if (current == full) {
+            previous = full;
+            current = new Generation(bitCount);
+        }
+    }
+
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static final class Generation {
+
+        private final AtomicLongArray words;
+        private final int bitCount;
+        private final AtomicInteger size = new AtomicInteger();
+
+        private Generation(int bitCount) {
+            this.bitCount = bitCount;
+            this.words = new AtomicLongArray((bitCount + 63) / 64);
+        }
+
+        private boolean mightContain(long hash, int hashCount) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < hashCount; i++) {
+                int bit = Math.floorMod(h1 + i * h2, bitCount);
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void put(long hash, int hashCount) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < hashCount; i++) {
+                int bit = Math.floorMod(h1 + i * h2, bitCount);
+                long mask = 1L << bit;
+                long word = words.get(bit >>> 6);
+                while ((word & mask) == 0 && !words.compareAndSet(bit >>> 6, word, word | mask)) {
+                    word = words.get(bit >>> 6);
+                }
+            }
+        }
+    }
+}
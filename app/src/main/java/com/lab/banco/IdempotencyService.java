@@ -0,0 +1,263 @@
+package com.lab.banco;
+
+import java.util.ArrayList;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class IdempotencyService implements MeterBinder {
+
+    private static final Logger LOG = LoggerFactory.getLogger(IdempotencyService.class);
+    private static final int MAX_KEY_LENGTH = 128;
+
+    private final TransferIdempotencyKeyRepository keyRepository;
+    private final IdempotencyKeyFilter filter;
+    private final int cacheSize;
+    private final int warmupKeys;
+    private final Duration retention;
+    private final TransactionTemplate transactionTemplate;
+    private final ClusterCoordinator clusterCoordinator;
+    private final LinkedHashMap<String, CommittedTransfer> recent = new LinkedHashMap<>(16, 0.75f, true);
+    private final LongAdder filterMisses = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder databaseHits = new LongAdder();
+    private final LongAdder databaseMisses = new LongAdder();
+
+    public IdempotencyService(
+            TransferIdempotencyKeyRepository keyRepository,
+            PlatformTransactionManager transactionManager,
+            ClusterCoordinator clusterCoordinator,
+            @Value("${app.idempotency.cache-size:10000}") int cacheSize,
+            @Value("${app.idempotency.filter.keys-per-generation:1000000}") int keysPerGeneration,
+            @Value("${app.idempotency.filter.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${app.idempotency.warmup-keys:100000}") int warmupKeys,
+            @Value("${app.idempotency.retention-hours:168}") long retentionHours) {
+        this.keyRepository = keyRepository;
+        this.filter = new IdempotencyKeyFilter(keysPerGeneration, falsePositiveRate);
+        this.cacheSize = Math.max(1, cacheSize);
+        this.warmupKeys = Math.max(0, warmupKeys);
+        this.retention = Duration.ofHours(Math.max(1, retentionHours));
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clusterCoordinator = clusterCoordinator;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("lab.idempotency.lookups", filterMisses, LongAdder::sum)
+                .tag("result", "filter_new")
+                .register(registry);
+        FunctionCounter.builder("lab.idempotency.lookups", cacheHits, LongAdder::sum)
+                .tag("result", "cache_hit")
+                .register(registry);
+        FunctionCounter.builder("lab.idempotency.lookups", databaseHits, LongAdder::sum)
+                .tag("result", "db_hit")
+                .register(registry);
+        FunctionCounter.builder("lab.idempotency.lookups", databaseMisses, LongAdder::sum)
+                .tag("result", "db_miss")
+                .register(registry);
+        Gauge.builder("cache.size", this, service -> service.getStats().cacheSize())
+                .tag("cache", "idempotency")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (warmupKeys == 0) {
+            return;
+        }
+
+        try {
+            List<String> keys = keyRepository.findRecentKeys(Limit.of(warmupKeys));
+            keys.forEach(filter::put);
+            LOG.info("Loaded {} recent idempotency key(s) into the dedup filter", keys.size());
+        } catch (Exception ex) {
+            LOG.warn("Failed to warm up idempotency filter", ex);
+        }
+    }
+
+    static String normalize(String key) {
+        if (key == null || key.isBlank()) {
+            return null;
+        }
+
+        String normalized = key.trim();
+        if (normalized.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency key must have at most " + MAX_KEY_LENGTH + " characters");
+        }
+        return normalized;
+    }
+
+    Map<String, CommittedTransfer> findCommitted(Collection<String> keys, boolean verifyAll) {
+        Map<String, CommittedTransfer> committed = new HashMap<>();
+        Set<String> unresolved = new HashSet<>();
+        synchronized (this) {
+            for (String key : keys) {
+                CommittedTransfer cached = recent.get(key);
+                if (cached != null) {
+                    cacheHits.increment();
+                    committed.put(key, cached);
+                } else if (verifyAll || filter.mightContain(key)) {
+                    unresolved.add(key);
+                } else {
+                    filterMisses.increment();
+                }
+            }
+        }
+
+        if (unresolved.isEmpty()) {
+            return committed;
+        }
+
+        for (TransferIdempotencyKey key : keyRepository.findByIdempotencyKeyIn(unresolved)) {
+            CommittedTransfer found = CommittedTransfer.of(key);
+            committed.put(key.getIdempotencyKey(), found);
+            unresolved.remove(key.getIdempotencyKey());
+            databaseHits.increment();
+            cache(key.getIdempotencyKey(), found);
+        }
+        databaseMisses.add(unresolved.size());
+        return committed;
+    }
+
+    void record(Map<String, TransferTransaction> transfersByKey) {
+        if (transfersByKey.isEmpty()) {
+            return;
+        }
+
+        List<TransferIdempotencyKey> keys = new ArrayList<>(transfersByKey.size());
+        transfersByKey.forEach((key, transfer) -> keys.add(TransferIdempotencyKey.of(key, transfer)));
+        save(keys);
+    }
+
+    void recordPartial(String idempotencyKey, TransferTransaction transfer) {
+        TransferIdempotencyKey key = TransferIdempotencyKey.of(idempotencyKey, transfer);
+        key.setTransferId(null);
+        save(List.of(key));
+    }
+
+    private void save(List<TransferIdempotencyKey> keys) {
+        keyRepository.saveAll(keys);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            remember(keys);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                remember(keys);
+            }
+        });
+    }
+
+    @Scheduled(fixedRateString = "${app.idempotency.expiry-fixed-rate-ms:3600000}",
+            initialDelayString = "${app.idempotency.expiry-fixed-rate-ms:3600000}")
+    public void expireKeys() {
+        if (!clusterCoordinator.isLeader()) {
+            return;
+        }
+
+        try {
+            Integer expired = transactionTemplate.execute(status -> keyRepository.deleteCreatedBefore(
+                    LocalDateTime.now().minus(retention)));
+            if (expired != null && expired > 0) {
+                LOG.info("Expired {} idempotency key(s) older than {}", expired, retention);
+            }
+        } catch (Exception ex) {
+            LOG.warn("Failed to expire idempotency keys", ex);
+        }
+    }
+
+    public synchronized IdempotencyStats getStats() {
+        return new IdempotencyStats(
+                recent.size(),
+                cacheSize,
+                filter.bitCount(),
+                filter.hashCount(),
+                filter.currentGenerationSize(),
+                filterMisses.sum(),
+                cacheHits.sum(),
+                databaseHits.sum(),
+                databaseMisses.sum());
+    }
+
+    private void remember(List<TransferIdempotencyKey> keys) {
+        for (TransferIdempotencyKey key : keys) {
+            filter.put(key.getIdempotencyKey());
+            cache(key.getIdempotencyKey(), CommittedTransfer.of(key));
+        }
+    }
+
+    private synchronized void cache(String key, CommittedTransfer transfer) {
+        recent.put(key, transfer);
+        while (recent.size() > cacheSize) {
+            recent.remove(recent.keySet().iterator().next());
+        }
+    }
+
+    record CommittedTransfer(Long transferId, Long originAccountId, Long destinationAccountId, Money amount) {
+
+        static CommittedTransfer of(TransferIdempotencyKey key) {
+            return new CommittedTransfer(
+                    key.getTransferId(),
+                    key.getOriginAccountId(),
+                    key.getDestinationAccountId(),
+                    key.getAmount());
+        }
+
+        static CommittedTransfer of(TransferTransaction transfer) {
+            return new CommittedTransfer(
+                    transfer.getId(),
+                    transfer.getOriginAccountId(),
+                    transfer.getDestinationAccountId(),
+                    transfer.getAmount());
+        }
+
+        boolean partial() {
+            return transferId == null;
+        }
+
+        boolean matches(TransferRequest request) {
+            return originAccountId.equals(request.originAccountId())
+                    && destinationAccountId.equals(request.destinationAccountId())
+                    && amount.equals(request.amount());
+        }
+    }
+
+    public record IdempotencyStats(
+            int cacheSize,
+            int cacheMaximumSize,
+            int filterBits,
+            int filterHashes,
+            int filterCurrentGenerationKeys,
+            long filterNew,
+            long cacheHits,
+            long databaseHits,
+            long databaseMisses) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.lab.banco;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+public class InMemoryTransferEventSink implements TransferEventSink {
+
+    private final int capacity;
+    private final Deque<String> recentPayloads = new ArrayDeque<>();
+
+    public InMemoryTransferEventSink(int capacity) {
+        this.capacity = Math.max(1, capacity);
+    }
+
+    @Override
+    public String name() {
+        return "memory";
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxEvent> events) {
+        for (OutboxEvent event : events) {
+            recentPayloads.addLast(event.getPayload());
+            while (recentPayloads.size() > capacity) {
+                recentPayloads.removeFirst();
+            }
+        }
+    }
+
+    public synchronized List<String> recentPayloads() {
+        return new ArrayList<>(recentPayloads);
+    }
+}
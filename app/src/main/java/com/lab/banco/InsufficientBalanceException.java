@@ -0,0 +1,8 @@
+package com.lab.banco;
+
+public class InsufficientBalanceException extends IllegalStateException {
+
+    public InsufficientBalanceException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,19 @@
+package com.lab.banco;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class LedgerController {
+
+    private final LedgerService ledgerService;
+
+    public LedgerController(LedgerService ledgerService) {
+        this.ledgerService = ledgerService;
+    }
+
+    @GetMapping("/ledger/stats")
+    public LedgerService.LedgerStats ledgerStats() {
+        return ledgerService.getStats();
+    }
+}
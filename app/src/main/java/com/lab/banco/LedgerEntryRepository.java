@@ -0,0 +1,110 @@
+package com.lab.banco;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, Long> {
+
+    @Query(value = """
+            SELECT COUNT(*)
+            FROM (
+                SELECT pg_advisory_xact_lock(a.id)
+                FROM (SELECT id FROM accounts WHERE id IN (:ids) ORDER BY id) a
+            ) locked
+            """, nativeQuery = true)
+    long lockAccounts(@Param("ids") Collection<Long> ids);
+
+    @Query(value = """
+            SELECT a.id,
+                   a.balance
+                   + COALESCE((SELECT SUM(b.balance) FROM account_balance_slots b WHERE b.account_id = a.id), 0)
+                   + COALESCE(s.balance, 0)
+                   + COALESCE((SELECT SUM(e.amount)
+                               FROM ledger_entries e
+                               WHERE e.account_id = a.id
+                                 AND e.tx_id >= COALESCE(s.horizon_tx_id, 0)), 0)
+            FROM accounts a
+            LEFT JOIN ledger_snapshots s ON s.account_id = a.id
+            WHERE a.id IN (:ids)
+            """, nativeQuery = true)
+    List<Object[]> findAvailableBalances(@Param("ids") Collection<Long> ids);
+
+    @Query(value = """
+            SELECT COALESCE(s.balance, 0)
+                   + COALESCE((SELECT SUM(e.amount)
+                               FROM ledger_entries e
+                               WHERE e.account_id = :accountId
+                                 AND e.tx_id >= COALESCE(s.horizon_tx_id, 0)), 0)
+            FROM (SELECT CAST(:accountId AS bigint) AS account_id) a
+            LEFT JOIN ledger_snapshots s ON s.account_id = a.account_id
+            """, nativeQuery = true)
+    BigDecimal ledgerBalance(@Param("accountId") Long accountId);
+
+    @Query(value = """
+            SELECT x.account_id, SUM(x.amount)
+            FROM (
+                SELECT s.account_id, s.balance AS amount FROM ledger_snapshots s
+                UNION ALL
+                SELECT e.account_id, e.amount
+                FROM ledger_entries e
+                WHERE e.tx_id >= (SELECT COALESCE(MAX(horizon_tx_id), 0) FROM ledger_snapshots)
+            ) x
+            GROUP BY x.account_id
+            """, nativeQuery = true)
+    List<Object[]> sumLedgerBalancesByAccount();
+
+    @Query(value = """
+            SELECT COUNT(*)
+            FROM ledger_entries e
+            WHERE e.tx_id >= (SELECT COALESCE(MAX(horizon_tx_id), 0) FROM ledger_snapshots)
+            """, nativeQuery = true)
+    long countUncompactedEntries();
+
+    @Query(value = "SELECT COALESCE(SUM(e.amount), 0) FROM ledger_entries e", nativeQuery = true)
+    BigDecimal sumAllEntries();
+
+    @Query(value = """
+            SELECT COALESCE((SELECT SUM(s.balance) FROM ledger_snapshots s), 0)
+                   + COALESCE((SELECT SUM(e.amount)
+                               FROM ledger_entries e
+                               WHERE e.tx_id >= (SELECT COALESCE(MAX(horizon_tx_id), 0) FROM ledger_snapshots)), 0)
+            """, nativeQuery = true)
+    BigDecimal sumSnapshotsAndUncompactedEntries();
+
+    @Query(value = """
+            SELECT COUNT(*)
+            FROM (
+                SELECT e.transfer_id
+                FROM ledger_entries e
+                GROUP BY e.transfer_id
+                HAVING SUM(e.amount) <> 0 OR COUNT(*) <> 2
+            ) unbalanced
+            """, nativeQuery = true)
+    long countUnbalancedTransfers();
+
+    @Query(value = """
+            SELECT COUNT(*)
+            FROM (
+                SELECT e.transfer_id
+                FROM ledger_entries e
+                WHERE e.transfer_id IN (:transferIds)
+                GROUP BY e.transfer_id
+                HAVING SUM(e.amount) <> 0 OR COUNT(*) <> 2
+            ) unbalanced
+            """, nativeQuery = true)
+    long countUnbalancedTransfers(@Param("transferIds") Collection<Long> transferIds);
+
+    @Query(value = """
+            SELECT COUNT(*)
+            FROM ledger_snapshots s
+            WHERE s.balance <> COALESCE((SELECT SUM(e.amount)
+                                         FROM ledger_entries e
+                                         WHERE e.account_id = s.account_id
+                                           AND e.tx_id < s.horizon_tx_id), 0)
+            """, nativeQuery = true)
+    long countSnapshotMismatches();
+}
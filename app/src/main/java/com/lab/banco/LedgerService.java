@@ -0,0 +1,164 @@
+package com.lab.banco;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class LedgerService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LedgerService.class);
+
+    private final LedgerEntryRepository entryRepository;
+    private final LedgerSnapshotRepository snapshotRepository;
+    private final BalanceStripingService balanceStripingService;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Timer compactionTimer;
+    private final LongAdder compactionRuns = new LongAdder();
+    private final AtomicLong lastCompactedAccounts = new AtomicLong();
+
+    public LedgerService(
+            LedgerEntryRepository entryRepository,
+            LedgerSnapshotRepository snapshotRepository,
+            BalanceStripingService balanceStripingService,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.transfer.concurrency-strategy:unsafe}") TransferConcurrencyStrategy concurrencyStrategy) {
+        this.entryRepository = entryRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.balanceStripingService = balanceStripingService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = concurrencyStrategy == TransferConcurrencyStrategy.LEDGER;
+        this.compactionTimer = Timer.builder("lab.ledger.compaction")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Scheduled(fixedRateString = "${app.ledger.compaction-fixed-rate-ms:5000}",
+            initialDelayString = "${app.ledger.compaction-initial-delay-ms:5000}")
+    public void compactSnapshots() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            Integer compacted = compactionTimer.record(() -> transactionTemplate.execute(
+                    status -> snapshotRepository.tryLockCompaction() ? snapshotRepository.compact() : null));
+            if (compacted != null) {
+                compactionRuns.increment();
+                lastCompactedAccounts.set(compacted);
+            }
+        } catch (Exception ex) {
+            LOG.warn("Failed to compact ledger snapshots", ex);
+        }
+    }
+
+    public Money logicalBalance(Account account) {
+        Money balance = balanceStripingService.logicalBalance(account);
+        if (!enabled || balance == null) {
+            return balance;
+        }
+
+        return balance.plus(Money.of(entryRepository.ledgerBalance(account.getId())));
+    }
+
+    public Map<Long, Money> logicalBalances(Collection<Account> accounts) {
+        Map<Long, Money> ledgerBalances = new HashMap<>();
+        if (enabled) {
+            for (Object[] row : entryRepository.sumLedgerBalancesByAccount()) {
+                ledgerBalances.put(((Number) row[0]).longValue(), Money.of((BigDecimal) row[1]));
+            }
+        }
+
+        Map<Long, Money> balances = new HashMap<>();
+        for (Account account : accounts) {
+            Money balance = balanceStripingService.logicalBalance(account);
+            if (balance != null) {
+                balance = balance.plus(ledgerBalances.getOrDefault(account.getId(), Money.ZERO));
+            }
+            balances.put(account.getId(), balance);
+        }
+        return balances;
+    }
+
+    Map<Long, Money> lockAndLoadBalances(Collection<Long> debitAccountIds, Collection<Long> accountIds) {
+        if (!debitAccountIds.isEmpty()) {
+            entryRepository.lockAccounts(debitAccountIds);
+        }
+
+        Map<Long, Money> available = new HashMap<>();
+        if (!accountIds.isEmpty()) {
+            for (Object[] row : entryRepository.findAvailableBalances(accountIds)) {
+                available.put(((Number) row[0]).longValue(), Money.of((BigDecimal) row[1]));
+            }
+        }
+        return available;
+    }
+
+    void appendDebit(TransferTransaction transfer) {
+        entryRepository.save(entry(transfer.getId(), transfer.getOriginAccountId(), transfer.getAmount().negate()));
+    }
+
+    void appendCredit(TransferTransaction transfer) {
+        entryRepository.save(entry(transfer.getId(), transfer.getDestinationAccountId(), transfer.getAmount()));
+    }
+
+    void appendAll(Collection<TransferTransaction> transfers) {
+        List<LedgerEntry> entries = new ArrayList<>(transfers.size() * 2);
+        for (TransferTransaction transfer : transfers) {
+            entries.add(entry(transfer.getId(), transfer.getOriginAccountId(), transfer.getAmount().negate()));
+            entries.add(entry(transfer.getId(), transfer.getDestinationAccountId(), transfer.getAmount()));
+        }
+        entryRepository.saveAll(entries);
+    }
+
+    @Transactional(readOnly = true)
+    public LedgerStats getStats() {
+        LocalDateTime lastCompactedAt = enabled ? snapshotRepository.findLastCompactedAt() : null;
+        return new LedgerStats(
+                enabled,
+                enabled ? snapshotRepository.count() : 0,
+                enabled ? entryRepository.countUncompactedEntries() : 0,
+                compactionRuns.sum(),
+                lastCompactedAccounts.get(),
+                lastCompactedAt);
+    }
+
+    private static LedgerEntry entry(Long transferId, Long accountId, Money amount) {
+        LedgerEntry entry = new LedgerEntry();
+        entry.setTransferId(transferId);
+        entry.setAccountId(accountId);
+        entry.setAmount(amount);
+        return entry;
+    }
+
+    public record LedgerStats(
+            boolean enabled,
+            long snapshots,
+            long uncompactedEntries,
+            long compactionRuns,
+            long lastCompactedAccounts,
+            LocalDateTime lastCompactedAt) {
+    }
+}
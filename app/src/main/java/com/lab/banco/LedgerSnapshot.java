@@ -0,0 +1,56 @@
+package com.lab.banco;
+
+import java.time.LocalDateTime;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "ledger_snapshots")
+public class LedgerSnapshot {
+
+    @Id
+    private Long accountId;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private Money balance;
+
+    @Column(nullable = false)
+    private long horizonTxId;
+
+    @Column(nullable = false)
+    private LocalDateTime compactedAt;
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(Long accountId) {
+        this.accountId = accountId;
+    }
+
+    public Money getBalance() {
+        return balance;
+    }
+
+    public void setBalance(Money balance) {
+        this.balance = balance;
+    }
+
+    public long getHorizonTxId() {
+        return horizonTxId;
+    }
+
+    public void setHorizonTxId(long horizonTxId) {
+        this.horizonTxId = horizonTxId;
+    }
+
+    public LocalDateTime getCompactedAt() {
+        return compactedAt;
+    }
+
+    public void setCompactedAt(LocalDateTime compactedAt) {
+        this.compactedAt = compactedAt;
+    }
+}
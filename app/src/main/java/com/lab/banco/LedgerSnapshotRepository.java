@@ -0,0 +1,31 @@
+package com.lab.banco;
+
+import java.time.LocalDateTime;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface LedgerSnapshotRepository extends JpaRepository<LedgerSnapshot, Long> {
+
+    @Query(value = "SELECT pg_try_advisory_xact_lock(hashtext('ledger_snapshots'), 0)", nativeQuery = true)
+    boolean tryLockCompaction();
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO ledger_snapshots (account_id, balance, horizon_tx_id, compacted_at)
+            SELECT e.account_id, SUM(e.amount), h.horizon, LOCALTIMESTAMP
+            FROM (SELECT CAST(CAST(pg_snapshot_xmin(pg_current_snapshot()) AS text) AS bigint) AS horizon) h
+            JOIN ledger_entries e
+              ON e.tx_id >= (SELECT COALESCE(MAX(horizon_tx_id), 0) FROM ledger_snapshots)
+             AND e.tx_id < h.horizon
+            GROUP BY e.account_id, h.horizon
+            ON CONFLICT (account_id) DO UPDATE
+            SET balance = ledger_snapshots.balance + EXCLUDED.balance,
+                horizon_tx_id = EXCLUDED.horizon_tx_id,
+                compacted_at = EXCLUDED.compacted_at
+            """, nativeQuery = true)
+    int compact();
+
+    @Query("select max(s.compactedAt) from LedgerSnapshot s")
+    LocalDateTime findLastCompactedAt();
+}
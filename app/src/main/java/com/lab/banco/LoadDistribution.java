@@ -0,0 +1,6 @@
+package com.lab.banco;
+
+public enum LoadDistribution {
+    UNIFORM,
+    ZIPF
+}
@@ -0,0 +1,26 @@
+package com.lab.banco;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+public class LoadGeneratorController {
+
+    private final LoadGeneratorService loadGeneratorService;
+
+    public LoadGeneratorController(LoadGeneratorService loadGeneratorService) {
+        this.loadGeneratorService = loadGeneratorService;
+    }
+
+    @GetMapping("/load-generator/report")
+    public LoadGeneratorService.LoadReport lastReport() {
+        LoadGeneratorService.LoadReport report = loadGeneratorService.getLastReport();
+        if (report == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                    loadGeneratorService.isEnabled() ? "Load generator run has not finished yet" : "Load generator is disabled");
+        }
+        return report;
+    }
+}
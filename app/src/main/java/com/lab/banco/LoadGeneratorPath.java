@@ -0,0 +1,6 @@
+package com.lab.banco;
+
+public enum LoadGeneratorPath {
+    DIRECT,
+    GROUP_COMMIT
+}
@@ -0,0 +1,420 @@
+package com.lab.banco;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import jakarta.annotation.PreDestroy;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+@Service
+public class LoadGeneratorService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LoadGeneratorService.class);
+    private static final String ACCOUNT_NAME_PREFIX = "load-";
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final TransferService transferService;
+    private final GroupCommitTransferService groupCommitTransferService;
+    private final AccountRepository accountRepository;
+    private final AccountMetadataCache accountMetadataCache;
+    private final ClusterCoordinator clusterCoordinator;
+    private final boolean enabled;
+    private final int accountCount;
+    private final Money initialBalance;
+    private final double targetTps;
+    private final LoadDistribution distribution;
+    private final double zipfExponent;
+    private final int workers;
+    private final LoadGeneratorPath path;
+    private final long rampUpNanos;
+    private final long steadyNanos;
+    private final long rampDownNanos;
+    private final long minAmount;
+    private final long maxAmount;
+
+    private volatile boolean running;
+    private volatile LoadReport lastReport;
+
+    public LoadGeneratorService(
+            TransferService transferService,
+            GroupCommitTransferService groupCommitTransferService,
+            AccountRepository accountRepository,
+            AccountMetadataCache accountMetadataCache,
+            ClusterCoordinator clusterCoordinator,
+            @Value("${app.load-generator.enabled:false}") boolean enabled,
+            @Value("${app.load-generator.accounts:1000}") int accountCount,
+            @Value("${app.load-generator.initial-balance:100000}") Money initialBalance,
+            @Value("${app.load-generator.target-tps:500}") double targetTps,
+            @Value("${app.load-generator.distribution:zipf}") LoadDistribution distribution,
+            @Value("${app.load-generator.zipf-exponent:1.0}") double zipfExponent,
+            @Value("${app.load-generator.workers:64}") int workers,
+            @Value("${app.load-generator.path:direct}") LoadGeneratorPath path,
+            @Value("${app.load-generator.ramp-up-seconds:10}") long rampUpSeconds,
+            @Value("${app.load-generator.steady-seconds:60}") long steadySeconds,
+            @Value("${app.load-generator.ramp-down-seconds:10}") long rampDownSeconds,
+            @Value("${app.load-generator.min-amount:1}") long minAmount,
+            @Value("${app.load-generator.max-amount:500}") long maxAmount) {
+        this.transferService = transferService;
+        this.groupCommitTransferService = groupCommitTransferService;
+        this.accountRepository = accountRepository;
+        this.accountMetadataCache = accountMetadataCache;
+        this.clusterCoordinator = clusterCoordinator;
+        this.enabled = enabled;
+        this.accountCount = Math.max(2, accountCount);
+        this.initialBalance = initialBalance;
+        this.targetTps = Math.max(1.0, targetTps);
+        this.distribution = distribution;
+        this.zipfExponent = Math.max(0.0, zipfExponent);
+        this.workers = Math.max(1, workers);
+        this.path = path;
+        this.rampUpNanos = TimeUnit.SECONDS.toNanos(Math.max(0, rampUpSeconds));
+        this.steadyNanos = TimeUnit.SECONDS.toNanos(Math.max(0, steadySeconds));
+        this.rampDownNanos = TimeUnit.SECONDS.toNanos(Math.max(0, rampDownSeconds));
+        this.minAmount = Math.max(1, minAmount);
+        this.maxAmount = Math.max(this.minAmount, maxAmount);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public LoadReport getLastReport() {
+        return lastReport;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startOnReady() {
+        if (!enabled) {
+            return;
+        }
+
+        running = true;
+        Thread runner = new Thread(this::runSafely, "load-generator");
+        runner.setDaemon(true);
+        runner.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+    }
+
+    private void runSafely() {
+        try {
+            lastReport = run();
+            LOG.info("Load generator finished:\n{}", lastReport.summary());
+        } catch (Exception ex) {
+            LOG.warn("Load generator aborted", ex);
+        }
+    }
+
+    private LoadReport run() throws InterruptedException {
+        long[] accountIds = clusterCoordinator.runExclusive("load-generator-seed", this::seedAccounts);
+        double[] cumulativeWeights = cumulativeWeights(accountIds.length);
+        Map<LoadPhase, PhaseRecorder> recorders = new EnumMap<>(LoadPhase.class);
+        for (LoadPhase phase : LoadPhase.values()) {
+            recorders.put(phase, new PhaseRecorder());
+        }
+
+        LOG.info("Load generator starting: {} accounts, {} TPS target, {} distribution, {} workers, {} path",
+                accountIds.length, targetTps, distribution, workers, path);
+
+        Semaphore inFlight = new Semaphore(workers);
+        ExecutorService executor = Executors.newFixedThreadPool(workers, workerThreadFactory());
+        LocalDateTime startedAt = LocalDateTime.now();
+        long totalNanos = rampUpNanos + steadyNanos + rampDownNanos;
+        long start = System.nanoTime();
+        long next = start;
+        long tick = 0;
+
+        try {
+            while (running && next - start < totalNanos) {
+                long elapsed = next - start;
+                if (!clusterCoordinator.assignment().owns(tick++)) {
+                    next += (long) (1_000_000_000L / Math.max(1.0, rateAt(elapsed)));
+                    continue;
+                }
+
+                LoadPhase phase = phaseAt(elapsed);
+                PhaseRecorder recorder = recorders.get(phase);
+                long intendedAt = next;
+
+                sleepUntil(intendedAt);
+                inFlight.acquire();
+                executor.execute(() -> {
+                    try {
+                        executeOne(accountIds, cumulativeWeights, intendedAt, recorder);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+
+                next += (long) (1_000_000_000L / Math.max(1.0, rateAt(elapsed)));
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        List<PhaseReport> phases = new ArrayList<>();
+        for (LoadPhase phase : LoadPhase.values()) {
+            phases.add(recorders.get(phase).report(phase));
+        }
+        return new LoadReport(
+                startedAt,
+                LocalDateTime.now(),
+                path,
+                distribution,
+                accountIds.length,
+                workers,
+                targetTps,
+                phases.stream().mapToLong(PhaseReport::submitted).sum() / Math.max(1e-9, elapsedNanos / 1e9),
+                phases);
+    }
+
+    private void executeOne(long[] accountIds, double[] cumulativeWeights, long intendedAt, PhaseRecorder recorder) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int originIndex = pick(cumulativeWeights, random);
+        int destinationIndex = pick(cumulativeWeights, random);
+        while (destinationIndex == originIndex) {
+            destinationIndex = pick(cumulativeWeights, random);
+        }
+
+        TransferRequest request = new TransferRequest(
+                accountIds[originIndex],
+                accountIds[destinationIndex],
+                Money.ofUnits(random.nextLong(minAmount, maxAmount + 1)),
+                TransferCategory.MOCK);
+
+        TransferOutcome outcome;
+        try {
+            outcome = path == LoadGeneratorPath.GROUP_COMMIT
+                    ? groupCommitTransferService.submit(request).join().outcome()
+                    : transferDirect(request);
+        } catch (RuntimeException ex) {
+            outcome = TransferOutcome.FAILED;
+        }
+
+        recorder.record(outcome, System.nanoTime() - intendedAt);
+    }
+
+    private TransferOutcome transferDirect(TransferRequest request) {
+        try {
+            transferService.transfer(
+                    request.originAccountId(),
+                    request.destinationAccountId(),
+                    request.amount(),
+                    request.category());
+            return TransferOutcome.COMMITTED;
+        } catch (InsufficientBalanceException ex) {
+            return TransferOutcome.INSUFFICIENT_BALANCE;
+        } catch (IllegalArgumentException ex) {
+            return TransferOutcome.INVALID;
+        }
+    }
+
+    private long[] seedAccounts() {
+        Set<String> existingNames = new HashSet<>();
+        for (Account account : accountRepository.findByNameStartingWith(ACCOUNT_NAME_PREFIX)) {
+            existingNames.add(account.getName());
+        }
+
+        List<Account> missing = new ArrayList<>();
+        for (int i = 1; i <= accountCount; i++) {
+            String name = accountName(i);
+            if (!existingNames.contains(name)) {
+                Account account = new Account();
+                account.setName(name);
+                account.setBalance(initialBalance);
+                missing.add(account);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            accountRepository.saveAll(missing).forEach(accountMetadataCache::put);
+            LOG.info("Load generator seeded {} account(s)", missing.size());
+        }
+
+        Map<String, Long> idsByName = new HashMap<>();
+        for (Account account : accountRepository.findByNameStartingWith(ACCOUNT_NAME_PREFIX)) {
+            idsByName.put(account.getName(), account.getId());
+        }
+
+        long[] accountIds = new long[accountCount];
+        for (int i = 1; i <= accountCount; i++) {
+            accountIds[i - 1] = idsByName.get(accountName(i));
+        }
+        return accountIds;
+    }
+
+    private double[] cumulativeWeights(int size) {
+        double[] cumulative = new double[size];
+        double total = 0.0;
+        for (int rank = 0; rank < size; rank++) {
+            total += distribution == LoadDistribution.ZIPF ? 1.0 / Math.pow(rank + 1, zipfExponent) : 1.0;
+            cumulative[rank] = total;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cumulative[rank] /= total;
+        }
+        return cumulative;
+    }
+
+    private static int pick(double[] cumulativeWeights, ThreadLocalRandom random) {
+        int index = Arrays.binarySearch(cumulativeWeights, random.nextDouble());
+        return Math.min(cumulativeWeights.length - 1, index >= 0 ? index : -index - 1);
+    }
+
+    private LoadPhase phaseAt(long elapsedNanos) {
+        if (elapsedNanos < rampUpNanos) {
+            return LoadPhase.RAMP_UP;
+        }
+        if (elapsedNanos < rampUpNanos + steadyNanos) {
+            return LoadPhase.STEADY;
+        }
+        return LoadPhase.RAMP_DOWN;
+    }
+
+    private double rateAt(long elapsedNanos) {
+        if (elapsedNanos < rampUpNanos) {
+            return targetTps * elapsedNanos / rampUpNanos;
+        }
+        long rampDownElapsed = elapsedNanos - rampUpNanos - steadyNanos;
+        if (rampDownElapsed <= 0) {
+            return targetTps;
+        }
+        return targetTps * (rampDownNanos - rampDownElapsed) / Math.max(1, rampDownNanos);
+    }
+
+    private static void sleepUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private static ThreadFactory workerThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "load-generator-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static String accountName(int index) {
+        return String.format("%s%06d", ACCOUNT_NAME_PREFIX, index);
+    }
+
+    private enum LoadPhase {
+        RAMP_UP,
+        STEADY,
+        RAMP_DOWN
+    }
+
+    private static final class PhaseRecorder {
+
+        private final ConcurrentHistogram latencyMicros = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final Map<TransferOutcome, LongAdder> outcomes = new EnumMap<>(TransferOutcome.class);
+
+        private PhaseRecorder() {
+            for (TransferOutcome outcome : TransferOutcome.values()) {
+                outcomes.put(outcome, new LongAdder());
+            }
+        }
+
+        private void record(TransferOutcome outcome, long latencyNanos) {
+            latencyMicros.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+            outcomes.get(outcome).increment();
+        }
+
+        private PhaseReport report(LoadPhase phase) {
+            Histogram histogram = latencyMicros.copy();
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            if (histogram.getTotalCount() > 0) {
+                histogram.outputPercentileDistribution(new PrintStream(buffer, true, StandardCharsets.UTF_8), 5, 1000.0);
+            }
+
+            return new PhaseReport(
+                    phase.name(),
+                    histogram.getTotalCount(),
+                    outcomes.get(TransferOutcome.COMMITTED).sum(),
+                    outcomes.get(TransferOutcome.INSUFFICIENT_BALANCE).sum(),
+                    outcomes.get(TransferOutcome.INVALID).sum() + outcomes.get(TransferOutcome.FAILED).sum(),
+                    histogram.getValueAtPercentile(50.0) / 1000.0,
+                    histogram.getValueAtPercentile(99.0) / 1000.0,
+                    histogram.getValueAtPercentile(99.9) / 1000.0,
+                    histogram.getMaxValue() / 1000.0,
+                    buffer.toString(StandardCharsets.UTF_8));
+        }
+    }
+
+    public record PhaseReport(
+            String phase,
+            long submitted,
+            long committed,
+            long insufficientBalance,
+            long errors,
+            double p50Ms,
+            double p99Ms,
+            double p999Ms,
+            double maxMs,
+            String latencyHistogramMs) {
+    }
+
+    public record LoadReport(
+            LocalDateTime startedAt,
+            LocalDateTime finishedAt,
+            LoadGeneratorPath path,
+            LoadDistribution distribution,
+            int accounts,
+            int workers,
+            double targetTps,
+            double achievedTps,
+            List<PhaseReport> phases) {
+
+        public String summary() {
+            StringBuilder summary = new StringBuilder();
+            summary.append(String.format("path=%s distribution=%s accounts=%d workers=%d targetTps=%.1f achievedTps=%.1f%n",
+                    path, distribution, accounts, workers, targetTps, achievedTps));
+            for (PhaseReport phase : phases) {
+                summary.append(String.format(
+                        "%-9s submitted=%d committed=%d insufficientBalance=%d errors=%d p50=%.2fms p99=%.2fms p999=%.2fms max=%.2fms%n",
+                        phase.phase(), phase.submitted(), phase.committed(), phase.insufficientBalance(), phase.errors(),
+                        phase.p50Ms(), phase.p99Ms(), phase.p999Ms(), phase.maxMs()));
+            }
+            phases.stream()
+                    .filter(phase -> phase.phase().equals(LoadPhase.STEADY.name()))
+                    .findFirst()
+                    .ifPresent(steady -> summary.append("STEADY latency histogram (ms):\n")
+                            .append(steady.latencyHistogramMs()));
+            return summary.toString();
+        }
+    }
+}
@@ -1,7 +1,7 @@
 package com.lab.banco;
 
-import java.math.BigDecimal;
 import java.util.Random;
+import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -21,85 +21,123 @@ public class MockTransactionService {
     private final Random random = new Random();
     private final TransferService transferService;
     private final AccountRepository accountRepository;
-    private final BigDecimal minimumOriginBalance;
-    private final BigDecimal rebalanceTargetBalance;
+    private final AccountMetadataCache accountMetadataCache;
+    private final LedgerService ledgerService;
+    private final ClusterCoordinator clusterCoordinator;
+    private final Money minimumOriginBalance;
+    private final Money rebalanceTargetBalance;
+    private final boolean loadGeneratorEnabled;
 
     public MockTransactionService(
             TransferService transferService,
             AccountRepository accountRepository,
-            @Value("${app.mock-transfer.minimum-origin-balance:1000}") BigDecimal minimumOriginBalance,
-            @Value("${app.mock-transfer.rebalance-target-balance:5000}") BigDecimal rebalanceTargetBalance) {
+            AccountMetadataCache accountMetadataCache,
+            LedgerService ledgerService,
+            ClusterCoordinator clusterCoordinator,
+            @Value("${app.mock-transfer.minimum-origin-balance:1000}") Money minimumOriginBalance,
+            @Value("${app.mock-transfer.rebalance-target-balance:5000}") Money rebalanceTargetBalance,
+            @Value("${app.load-generator.enabled:false}") boolean loadGeneratorEnabled) {
         this.transferService = transferService;
         this.accountRepository = accountRepository;
+        this.accountMetadataCache = accountMetadataCache;
+        this.ledgerService = ledgerService;
+        this.clusterCoordinator = clusterCoordinator;
         this.minimumOriginBalance = minimumOriginBalance;
         this.rebalanceTargetBalance = rebalanceTargetBalance;
+        this.loadGeneratorEnabled = loadGeneratorEnabled;
     }
 
     @Scheduled(fixedRateString = "${app.mock-transfer.fixed-rate-ms:5000}",
             initialDelayString = "${app.mock-transfer.initial-delay-ms:10000}")
     public void generateMockTransfer() {
+        if (loadGeneratorEnabled || !clusterCoordinator.isLeader()) {
+            return;
+        }
+
         try {
             Account origin = ensureAccount(ORIGIN_ACCOUNT_NAME);
             Account destination = ensureAccount(DESTINATION_ACCOUNT_NAME);
 
-            if (tryRebalanceIfNeeded(origin, destination)) {
+            Money originBalance = ledgerService.logicalBalance(origin);
+            Money destinationBalance = ledgerService.logicalBalance(destination);
+
+            if (tryRebalanceIfNeeded(origin, destination, originBalance, destinationBalance)) {
                 return;
             }
 
-            int maxAmount = origin.getBalance()
-                    .min(BigDecimal.valueOf(MAX_TRANSFER_AMOUNT))
-                    .intValue();
+            int maxAmount = (int) (originBalance
+                    .min(Money.ofUnits(MAX_TRANSFER_AMOUNT))
+                    .cents() / 100);
 
             if (maxAmount < MIN_TRANSFER_AMOUNT) {
                 LOG.info("Skipping mock transfer because {} has insufficient balance: {}",
-                        origin.getName(), origin.getBalance());
+                        origin.getName(), originBalance);
                 return;
             }
 
-            BigDecimal amount = BigDecimal.valueOf(random.nextInt(maxAmount) + MIN_TRANSFER_AMOUNT);
-            transferService.transfer(origin.getId(), destination.getId(), amount, TransferCategory.MOCK);
-            LOG.info("Mock transfer persisted: {}({}) -> {}({}) amount {}",
-                    origin.getName(), origin.getId(), destination.getName(), destination.getId(), amount);
+            Money amount = Money.ofUnits(random.nextInt(maxAmount) + MIN_TRANSFER_AMOUNT);
+            TransferResult result = transferWithRetry(
+                    new TransferRequest(origin.getId(), destination.getId(), amount, TransferCategory.MOCK));
+            LOG.info("Mock transfer persisted: {}({}) -> {}({}) amount {} transferId {}",
+                    origin.getName(), origin.getId(), destination.getName(), destination.getId(), amount,
+                    result.transferId());
         } catch (Exception ex) {
             LOG.warn("Failed to generate mock transfer", ex);
         }
     }
 
-    private boolean tryRebalanceIfNeeded(Account origin, Account destination) {
-        if (origin.getBalance().compareTo(minimumOriginBalance) >= 0) {
+    private boolean tryRebalanceIfNeeded(
+            Account origin,
+            Account destination,
+            Money originBalance,
+            Money destinationBalance) {
+        if (!originBalance.isLessThan(minimumOriginBalance)) {
             return false;
         }
 
-        BigDecimal desiredTopUp = rebalanceTargetBalance.subtract(origin.getBalance());
-        if (desiredTopUp.compareTo(BigDecimal.ZERO) <= 0) {
+        Money desiredTopUp = rebalanceTargetBalance.minus(originBalance);
+        if (desiredTopUp.signum() <= 0) {
             return false;
         }
 
-        BigDecimal topUpAmount = desiredTopUp.min(destination.getBalance());
-        if (topUpAmount.compareTo(BigDecimal.ZERO) <= 0) {
+        Money topUpAmount = desiredTopUp.min(destinationBalance);
+        if (topUpAmount.signum() <= 0) {
             LOG.warn("Cannot rebalance {} because {} has insufficient balance. originBalance={}, destinationBalance={}",
-                    origin.getName(), destination.getName(), origin.getBalance(), destination.getBalance());
+                    origin.getName(), destination.getName(), originBalance, destinationBalance);
             return false;
         }
 
-        transferService.transfer(
+        transferWithRetry(new TransferRequest(
                 destination.getId(),
                 origin.getId(),
                 topUpAmount,
-                TransferCategory.REBALANCE);
+                TransferCategory.REBALANCE));
 
         LOG.info("Rebalance transfer persisted: {}({}) -> {}({}) amount {}",
                 destination.getName(), destination.getId(), origin.getName(), origin.getId(), topUpAmount);
         return true;
     }
 
+    private TransferResult transferWithRetry(TransferRequest request) {
+        TransferRequest keyed = request.withIdempotencyKey(UUID.randomUUID().toString());
+        try {
+            return transferService.transfer(keyed);
+        } catch (ChaosInconsistencyException ex) {
+            LOG.warn("Retrying transfer with idempotency key {} after failure: {}",
+                    keyed.idempotencyKey(), ex.getMessage());
+            return transferService.transfer(keyed);
+        }
+    }
+
     private Account ensureAccount(String accountName) {
-        return accountRepository.findByNameIgnoreCase(accountName)
+        return accountMetadataCache.findAccountByName(accountName)
                 .orElseGet(() -> {
                     Account account = new Account();
                     account.setName(accountName);
-                    account.setBalance(BigDecimal.valueOf(INITIAL_SEED_BALANCE));
-                    return accountRepository.save(account);
+                    account.setBalance(Money.ofUnits(INITIAL_SEED_BALANCE));
+                    Account saved = accountRepository.save(account);
+                    accountMetadataCache.put(saved);
+                    return saved;
                 });
     }
 }
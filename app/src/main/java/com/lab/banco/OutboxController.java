@@ -0,0 +1,19 @@
+package com.lab.banco;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class OutboxController {
+
+    private final OutboxService outboxService;
+
+    public OutboxController(OutboxService outboxService) {
+        this.outboxService = outboxService;
+    }
+
+    @GetMapping("/outbox/stats")
+    public OutboxService.OutboxStats outboxStats() {
+        return outboxService.getStats();
+    }
+}
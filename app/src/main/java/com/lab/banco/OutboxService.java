@@ -0,0 +1,238 @@
+package com.lab.banco;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class OutboxService implements SmartLifecycle {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OutboxService.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final TransferEventSink sink;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final boolean relayEnabled;
+    private final int batchSize;
+    private final long minIdleBackoffMs;
+    private final long maxIdleBackoffMs;
+    private final Counter publishedCounter;
+    private final Counter failureCounter;
+    private final Timer publishLagTimer;
+    private final Timer batchTimer;
+    private final AtomicInteger lastBatchSize = new AtomicInteger();
+    private final AtomicLong oldestPendingAgeMs = new AtomicLong();
+
+    private volatile boolean running;
+    private volatile Thread relay;
+
+    public OutboxService(
+            OutboxEventRepository outboxEventRepository,
+            TransferEventSink sink,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.outbox.enabled:true}") boolean enabled,
+            @Value("${app.outbox.relay.enabled:true}") boolean relayEnabled,
+            @Value("${app.outbox.relay.batch-size:200}") int batchSize,
+            @Value("${app.outbox.relay.min-idle-backoff-ms:50}") long minIdleBackoffMs,
+            @Value("${app.outbox.relay.max-idle-backoff-ms:2000}") long maxIdleBackoffMs) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sink = sink;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.relayEnabled = relayEnabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.minIdleBackoffMs = Math.max(1, minIdleBackoffMs);
+        this.maxIdleBackoffMs = Math.max(this.minIdleBackoffMs, maxIdleBackoffMs);
+        this.publishedCounter = Counter.builder("lab.outbox.published")
+                .tag("sink", sink.name())
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("lab.outbox.publish.failures")
+                .tag("sink", sink.name())
+                .register(meterRegistry);
+        this.publishLagTimer = Timer.builder("lab.outbox.publish.lag")
+                .tag("sink", sink.name())
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("lab.outbox.relay.batch")
+                .tag("sink", sink.name())
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        TimeGauge.builder("lab.outbox.oldest.pending.age", oldestPendingAgeMs, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .register(meterRegistry);
+    }
+
+    void append(TransferTransaction transfer) {
+        if (enabled) {
+            outboxEventRepository.save(newEvent(transfer));
+        }
+    }
+
+    void appendAll(Collection<TransferTransaction> transfers) {
+        if (!enabled || transfers.isEmpty()) {
+            return;
+        }
+
+        List<OutboxEvent> events = new ArrayList<>(transfers.size());
+        for (TransferTransaction transfer : transfers) {
+            events.add(newEvent(transfer));
+        }
+        outboxEventRepository.saveAll(events);
+    }
+
+    public OutboxStats getStats() {
+        return new OutboxStats(
+                enabled,
+                running,
+                sink.name(),
+                batchSize,
+                (long) publishedCounter.count(),
+                (long) failureCounter.count(),
+                lastBatchSize.get(),
+                oldestPendingAgeMs.get());
+    }
+
+    @Override
+    public void start() {
+        if (!relayEnabled) {
+            return;
+        }
+
+        running = true;
+        Thread thread = new Thread(this::relayLoop, "outbox-relay");
+        thread.setDaemon(true);
+        relay = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = relay;
+        if (thread == null) {
+            return;
+        }
+
+        thread.interrupt();
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void relayLoop() {
+        long backoffMs = minIdleBackoffMs;
+        try {
+            while (running) {
+                int published;
+                try {
+                    published = relayBatch();
+                    refreshOldestPendingAge();
+                } catch (RuntimeException ex) {
+                    failureCounter.increment();
+                    LOG.warn("Outbox relay batch failed", ex);
+                    published = 0;
+                }
+
+                if (published > 0) {
+                    backoffMs = minIdleBackoffMs;
+                    continue;
+                }
+
+                Thread.sleep(backoffMs);
+                backoffMs = Math.min(maxIdleBackoffMs, backoffMs * 2);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private int relayBatch() {
+        long startedAt = System.nanoTime();
+        Integer published = transactionTemplate.execute(status -> {
+            List<OutboxEvent> events = outboxEventRepository.lockNextBatch(batchSize);
+            if (events.isEmpty()) {
+                return 0;
+            }
+
+            sink.publish(events);
+            List<Long> ids = new ArrayList<>(events.size());
+            for (OutboxEvent event : events) {
+                ids.add(event.getId());
+            }
+            outboxEventRepository.deleteAllByIdInBatch(ids);
+
+            LocalDateTime now = LocalDateTime.now();
+            for (OutboxEvent event : events) {
+                publishLagTimer.record(Duration.between(event.getCreatedAt(), now));
+            }
+            return events.size();
+        });
+
+        int count = published == null ? 0 : published;
+        lastBatchSize.set(count);
+        if (count > 0) {
+            publishedCounter.increment(count);
+            batchTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+        return count;
+    }
+
+    private void refreshOldestPendingAge() {
+        oldestPendingAgeMs.set(outboxEventRepository.findFirstByOrderByIdAsc()
+                .map(event -> Math.max(0, Duration.between(event.getCreatedAt(), LocalDateTime.now()).toMillis()))
+                .orElse(0L));
+    }
+
+    private OutboxEvent newEvent(TransferTransaction transfer) {
+        OutboxEvent event = new OutboxEvent();
+        event.setTransferId(transfer.getId());
+        event.setEventType(TransferEvent.TYPE);
+        event.setCreatedAt(LocalDateTime.now());
+        try {
+            event.setPayload(objectMapper.writeValueAsString(TransferEvent.of(transfer)));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialize transfer event " + transfer.getId(), ex);
+        }
+        return event;
+    }
+
+    public record OutboxStats(
+            boolean enabled,
+            boolean relayRunning,
+            String sink,
+            int batchSize,
+            long published,
+            long publishFailures,
+            int lastBatchSize,
+            long oldestPendingAgeMs) {
+    }
+}
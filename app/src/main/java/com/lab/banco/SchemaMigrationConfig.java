@@ -0,0 +1,27 @@
+package com.lab.banco;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+public class SchemaMigrationConfig {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SchemaMigrationConfig.class);
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(
+            @Value("${app.schema-migrations.enabled:true}") boolean enabled) {
+        return flyway -> {
+            if (!enabled) {
+                LOG.info("Schema migrations disabled; skipping Flyway");
+                return;
+            }
+
+            flyway.migrate();
+        };
+    }
+}
@@ -1,72 +1,154 @@
 package com.lab.banco;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 @RestController
 public class TransactionController {
 
     private final TransferTransactionRepository transferTransactionRepository;
-    private final AccountRepository accountRepository;
+    private final TransferResponseMapper transferResponseMapper;
+    private final TransferService transferService;
+    private final GroupCommitTransferService groupCommitTransferService;
+    private final AdmissionControlService admissionControlService;
+    private final IdempotencyService idempotencyService;
+    private final int batchMaxItems;
+    private final int defaultPageSize;
+    private final int maxPageSize;
 
     public TransactionController(
             TransferTransactionRepository transferTransactionRepository,
-            AccountRepository accountRepository) {
+            TransferResponseMapper transferResponseMapper,
+            TransferService transferService,
+            GroupCommitTransferService groupCommitTransferService,
+            AdmissionControlService admissionControlService,
+            IdempotencyService idempotencyService,
+            @Value("${app.transfer.batch.max-items:10000}") int batchMaxItems,
+            @Value("${app.transfer-history.default-page-size:50}") int defaultPageSize,
+            @Value("${app.transfer-history.max-page-size:500}") int maxPageSize) {
         this.transferTransactionRepository = transferTransactionRepository;
-        this.accountRepository = accountRepository;
+        this.transferResponseMapper = transferResponseMapper;
+        this.transferService = transferService;
+        this.groupCommitTransferService = groupCommitTransferService;
+        this.admissionControlService = admissionControlService;
+        this.idempotencyService = idempotencyService;
+        this.batchMaxItems = batchMaxItems;
+        this.maxPageSize = Math.max(1, maxPageSize);
+        this.defaultPageSize = Math.min(this.maxPageSize, Math.max(1, defaultPageSize));
     }
 
     @GetMapping("/transacoes")
-    public List<TransferResponse> listTransfersPt() {
-        return listTransfers();
+    public TransferPage listTransfersPt(TransferHistoryQuery query) {
+        return listTransfers(query);
     }
 
     @GetMapping("/transfers")
-    public List<TransferResponse> listTransfers() {
-        List<TransferTransaction> transfers =
-                transferTransactionRepository.findTop50ByCategoryOrderByOccurredAtDesc(TransferCategory.MOCK);
-        return mapTransfers(transfers);
+    public TransferPage listTransfers(TransferHistoryQuery query) {
+        int limit = query.limit() == null ? defaultPageSize : Math.min(maxPageSize, Math.max(1, query.limit()));
+        TransferCursor after;
+        try {
+            after = query.cursor() == null || query.cursor().isBlank() ? null : TransferCursor.decode(query.cursor());
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
+
+        AdmissionControlService.Permit permit = admissionControlService.acquire(WorkloadClass.TRANSFER_READ);
+        try {
+            List<TransferTransaction> transfers = transferTransactionRepository.findHistoryPage(query, after, limit + 1);
+            if (transfers.size() <= limit) {
+                return new TransferPage(mapTransfers(transfers), null);
+            }
+
+            List<TransferTransaction> page = transfers.subList(0, limit);
+            return new TransferPage(mapTransfers(page), TransferCursor.after(page.get(limit - 1)).encode());
+        } finally {
+            permit.release();
+        }
     }
 
     @GetMapping("/transfers/all")
     public List<TransferResponse> listAllTransfers() {
-        List<TransferTransaction> transfers = transferTransactionRepository.findTop50ByOrderByOccurredAtDesc();
-        return mapTransfers(transfers);
+        AdmissionControlService.Permit permit = admissionControlService.acquire(WorkloadClass.TRANSFER_READ);
+        try {
+            List<TransferTransaction> transfers = transferTransactionRepository
+                    .findHistoryPage(TransferHistoryQuery.unfiltered(), null, defaultPageSize);
+            return mapTransfers(transfers);
+        } finally {
+            permit.release();
+        }
     }
 
-    private List<TransferResponse> mapTransfers(List<TransferTransaction> transfers) {
-        if (transfers.isEmpty()) {
-            return List.of();
+    @PostMapping("/transfers")
+    public CompletableFuture<TransferResult> submitTransfer(
+            @RequestBody TransferRequest transfer,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        if (transfer != null && idempotencyKey != null && transfer.idempotencyKey() == null) {
+            transfer = transfer.withIdempotencyKey(idempotencyKey);
+        }
+
+        AdmissionControlService.Permit permit = admissionControlService.acquire(WorkloadClass.TRANSFER_WRITE);
+        return groupCommitTransferService.submit(transfer).whenComplete((result, ex) -> {
+            if (ex != null || result.outcome() == TransferOutcome.FAILED) {
+                permit.markDropped();
+            }
+            permit.release();
+        });
+    }
+
+    @PostMapping("/transfers/batch")
+    public List<TransferResult> transferBatch(@RequestBody List<TransferRequest> transfers) {
+        if (transfers == null || transfers.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one transfer is required");
+        }
+
+        if (transfers.size() > batchMaxItems) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "Batch has " + transfers.size() + " transfers; the limit is " + batchMaxItems);
         }
 
-        Set<Long> accountIds = new HashSet<>();
-        for (TransferTransaction transfer : transfers) {
-            accountIds.add(transfer.getOriginAccountId());
-            accountIds.add(transfer.getDestinationAccountId());
+        AdmissionControlService.Permit permit = admissionControlService.acquire(WorkloadClass.TRANSFER_BATCH);
+        try {
+            return transferService.transferBatch(transfers);
+        } finally {
+            permit.release();
         }
+    }
+
+    @GetMapping("/transfers/idempotency/stats")
+    public IdempotencyService.IdempotencyStats idempotencyStats() {
+        return idempotencyService.getStats();
+    }
+
+    @GetMapping("/transfers/stats")
+    public TransferService.TransferStats transferStats() {
+        return transferService.getStats();
+    }
+
+    @GetMapping("/transfers/group-commit/stats")
+    public GroupCommitTransferService.GroupCommitStats groupCommitStats() {
+        return groupCommitTransferService.getStats();
+    }
+
+    @GetMapping("/transfers/admission/stats")
+    public List<AdmissionControlService.AdmissionStats> admissionStats() {
+        return admissionControlService.getStats();
+    }
+
+    private List<TransferResponse> mapTransfers(List<TransferTransaction> transfers) {
+        return transferResponseMapper.map(transfers);
+    }
 
-        Map<Long, String> accountNamesById = accountRepository.findAllById(accountIds)
-                .stream()
-                .collect(Collectors.toMap(Account::getId, Account::getName));
-
-        return transfers.stream()
-                .map(transfer -> new TransferResponse(
-                        transfer.getId(),
-                        transfer.getOriginAccountId(),
-                        accountNamesById.getOrDefault(transfer.getOriginAccountId(), "Unknown"),
-                        transfer.getDestinationAccountId(),
-                        accountNamesById.getOrDefault(transfer.getDestinationAccountId(), "Unknown"),
-                        transfer.getAmount(),
-                        transfer.getOccurredAt(),
-                        transfer.getCategory() == null ? TransferCategory.MOCK : transfer.getCategory()))
-                .toList();
+    public record TransferPage(List<TransferResponse> items, String nextCursor) {
     }
 
     public record TransferResponse(
@@ -75,7 +157,7 @@ public class TransactionController {
             String originAccountName,
             Long destinationAccountId,
             String destinationAccountName,
-            BigDecimal amount,
+            Money amount,
             LocalDateTime occurredAt,
             TransferCategory category) {
     }
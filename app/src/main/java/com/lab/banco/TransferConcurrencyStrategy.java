@@ -0,0 +1,9 @@
+package com.lab.banco;
+
+public enum TransferConcurrencyStrategy {
+    UNSAFE,
+    OPTIMISTIC,
+    PESSIMISTIC,
+    ATOMIC,
+    LEDGER
+}
@@ -0,0 +1,31 @@
+package com.lab.banco;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+public record TransferCursor(LocalDateTime occurredAt, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    static TransferCursor after(TransferTransaction transfer) {
+        return new TransferCursor(transfer.getOccurredAt(), transfer.getId());
+    }
+
+    static TransferCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new TransferCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Invalid transfer cursor", ex);
+        }
+    }
+
+    String encode() {
+        String raw = occurredAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,24 @@
+package com.lab.banco;
+
+import java.time.LocalDateTime;
+
+public record TransferEvent(
+        Long transferId,
+        Long originAccountId,
+        Long destinationAccountId,
+        Money amount,
+        TransferCategory category,
+        LocalDateTime occurredAt) {
+
+    public static final String TYPE = "TRANSFER_COMMITTED";
+
+    static TransferEvent of(TransferTransaction transfer) {
+        return new TransferEvent(
+                transfer.getId(),
+                transfer.getOriginAccountId(),
+                transfer.getDestinationAccountId(),
+                transfer.getAmount(),
+                transfer.getCategory(),
+                transfer.getOccurredAt());
+    }
+}
@@ -0,0 +1,10 @@
+package com.lab.banco;
+
+import java.util.List;
+
+public interface TransferEventSink {
+
+    String name();
+
+    void publish(List<OutboxEvent> events);
+}
@@ -0,0 +1,22 @@
+package com.lab.banco;
+
+import java.nio.file.Path;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+public class TransferEventSinkConfig {
+
+    @Bean
+    public TransferEventSink transferEventSink(
+            @Value("${app.outbox.sink:memory}") String sink,
+            @Value("${app.outbox.memory.capacity:1000}") int memoryCapacity,
+            @Value("${app.outbox.file.path:outbox-events.ndjson}") Path filePath) {
+        return switch (sink) {
+            case "memory" -> new InMemoryTransferEventSink(memoryCapacity);
+            case "file" -> new FileTransferEventSink(filePath);
+            default -> throw new IllegalStateException("Unknown outbox sink: " + sink);
+        };
+    }
+}
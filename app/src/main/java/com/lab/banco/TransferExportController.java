@@ -0,0 +1,60 @@
+package com.lab.banco;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+public class TransferExportController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+
+    private final TransferExportService transferExportService;
+
+    public TransferExportController(TransferExportService transferExportService) {
+        this.transferExportService = transferExportService;
+    }
+
+    @GetMapping("/transfers/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            TransferHistoryQuery query,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletRequest request) {
+        TransferExportFormat exportFormat;
+        try {
+            exportFormat = TransferExportFormat.valueOf(format.trim().toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown export format: " + format);
+        }
+
+        StreamingResponseBody body = transferExportService.export(
+                query, exportFormat, gzip, WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest());
+
+        String extension = exportFormat.name().toLowerCase();
+        MediaType contentType = exportFormat == TransferExportFormat.CSV ? new MediaType("text", "csv") : NDJSON;
+        String filename = "transfers." + extension + (gzip ? ".gz" : "");
+        return ResponseEntity.ok()
+                .contentType(gzip ? GZIP : contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(filename)
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
+    @GetMapping("/transfers/export/stats")
+    public TransferExportService.ExportStats exportStats() {
+        return transferExportService.getStats();
+    }
+}
@@ -0,0 +1,273 @@
+package com.lab.banco;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+import javax.sql.DataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@Service
+public class TransferExportService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TransferExportService.class);
+    private static final String COLUMNS = "t.id, t.occurred_at, t.origin_account_id, t.destination_account_id, t.amount, t.category";
+    private static final String CSV_HEADER = "id,occurredAt,originAccountId,destinationAccountId,amount,category\n";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final DataSource readerDataSource;
+    private final int fetchSize;
+    private final int maxConcurrent;
+    private final long timeoutMs;
+    private final Semaphore permits;
+    private final Timer exportTimer;
+    private final LongAdder exportedRows = new LongAdder();
+    private final LongAdder completedExports = new LongAdder();
+    private final LongAdder failedExports = new LongAdder();
+    private final LongAdder rejectedExports = new LongAdder();
+
+    public TransferExportService(
+            @Qualifier("readerDataSource") DataSource readerDataSource,
+            MeterRegistry meterRegistry,
+            @Value("${app.transfer-export.fetch-size:5000}") int fetchSize,
+            @Value("${app.transfer-export.max-concurrent:2}") int maxConcurrent,
+            @Value("${app.transfer-export.timeout-ms:3600000}") long timeoutMs) {
+        this.readerDataSource = readerDataSource;
+        this.fetchSize = Math.max(1, fetchSize);
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.timeoutMs = timeoutMs;
+        this.permits = new Semaphore(this.maxConcurrent);
+        this.exportTimer = Timer.builder("lab.transfer.export")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        FunctionCounter.builder("lab.transfer.export.rows", exportedRows, LongAdder::sum)
+                .register(meterRegistry);
+        FunctionCounter.builder("lab.transfer.export.rejected", rejectedExports, LongAdder::sum)
+                .register(meterRegistry);
+        Gauge.builder("lab.transfer.export.active", this, service -> service.activeExports())
+                .register(meterRegistry);
+    }
+
+    public StreamingResponseBody export(
+            TransferHistoryQuery query,
+            TransferExportFormat format,
+            boolean gzip,
+            AsyncWebRequest asyncRequest) {
+        if (!permits.tryAcquire()) {
+            rejectedExports.increment();
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                    "Export limit of " + maxConcurrent + " concurrent export(s) reached");
+        }
+
+        AtomicBoolean held = new AtomicBoolean(true);
+        Runnable release = () -> {
+            if (held.compareAndSet(true, false)) {
+                permits.release();
+            }
+        };
+        asyncRequest.setTimeout(timeoutMs);
+        asyncRequest.addCompletionHandler(release);
+
+        return out -> {
+            long startedAt = System.nanoTime();
+            try {
+                OutputStream target = gzip ? new GZIPOutputStream(StreamUtils.nonClosing(out), BUFFER_SIZE) : out;
+                long rows = write(query, format, target);
+                completedExports.increment();
+                LOG.info("Exported {} transfer(s) as {} in {} ms", rows, format,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+            } catch (IOException | RuntimeException ex) {
+                failedExports.increment();
+                throw ex;
+            } finally {
+                exportTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                release.run();
+            }
+        };
+    }
+
+    public ExportStats getStats() {
+        return new ExportStats(
+                fetchSize,
+                maxConcurrent,
+                timeoutMs,
+                activeExports(),
+                completedExports.sum(),
+                failedExports.sum(),
+                rejectedExports.sum(),
+                exportedRows.sum());
+    }
+
+    private long write(TransferHistoryQuery query, TransferExportFormat format, OutputStream out) throws IOException {
+        List<Object> parameters = new ArrayList<>();
+        String sql = buildSql(query, parameters);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        long rows = 0;
+        try (Connection connection = readerDataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(
+                    sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                statement.setFetchSize(fetchSize);
+                for (int i = 0; i < parameters.size(); i++) {
+                    statement.setObject(i + 1, parameters.get(i));
+                }
+                if (format == TransferExportFormat.CSV) {
+                    writer.write(CSV_HEADER);
+                }
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        writeRow(writer, format, rs);
+                        rows++;
+                        exportedRows.increment();
+                    }
+                }
+            } finally {
+                connection.rollback();
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Transfer export failed after " + rows + " row(s)", ex);
+        }
+
+        writer.flush();
+        if (out instanceof GZIPOutputStream) {
+            out.close();
+        }
+        return rows;
+    }
+
+    private static void writeRow(Writer writer, TransferExportFormat format, ResultSet rs)
+            throws IOException, SQLException {
+        long id = rs.getLong(1);
+        LocalDateTime occurredAt = rs.getObject(2, LocalDateTime.class);
+        long originAccountId = rs.getLong(3);
+        long destinationAccountId = rs.getLong(4);
+        String amount = rs.getBigDecimal(5).toPlainString();
+        String category = rs.getString(6);
+        if (category == null) {
+            category = TransferCategory.MOCK.name();
+        }
+
+        if (format == TransferExportFormat.CSV) {
+            writer.write(Long.toString(id));
+            writer.write(',');
+            DateTimeFormatter.ISO_LOCAL_DATE_TIME.formatTo(occurredAt, writer);
+            writer.write(',');
+            writer.write(Long.toString(originAccountId));
+            writer.write(',');
+            writer.write(Long.toString(destinationAccountId));
+            writer.write(',');
+            writer.write(amount);
+            writer.write(',');
+            writer.write(category);
+            writer.write('\n');
+            return;
+        }
+
+        writer.write("{\"id\":");
+        writer.write(Long.toString(id));
+        writer.write(",\"occurredAt\":\"");
+        DateTimeFormatter.ISO_LOCAL_DATE_TIME.formatTo(occurredAt, writer);
+        writer.write("\",\"originAccountId\":");
+        writer.write(Long.toString(originAccountId));
+        writer.write(",\"destinationAccountId\":");
+        writer.write(Long.toString(destinationAccountId));
+        writer.write(",\"amount\":");
+        writer.write(amount);
+        writer.write(",\"category\":\"");
+        writer.write(category);
+        writer.write("\"}\n");
+    }
+
+    private static String buildSql(TransferHistoryQuery query, List<Object> parameters) {
+        List<String> filters = new ArrayList<>();
+        List<Object> filterParameters = new ArrayList<>();
+        if (query.category() != null) {
+            filters.add("t.category = ?");
+            filterParameters.add(query.category().name());
+        }
+        if (query.from() != null) {
+            filters.add("t.occurred_at >= ?");
+            filterParameters.add(query.from());
+        }
+        if (query.to() != null) {
+            filters.add("t.occurred_at < ?");
+            filterParameters.add(query.to());
+        }
+        if (query.minAmount() != null) {
+            filters.add("t.amount >= ?");
+            filterParameters.add(query.minAmount().toBigDecimal());
+        }
+        if (query.maxAmount() != null) {
+            filters.add("t.amount <= ?");
+            filterParameters.add(query.maxAmount().toBigDecimal());
+        }
+
+        if (query.accountId() == null) {
+            parameters.addAll(filterParameters);
+            return select(filters) + " ORDER BY occurred_at, id";
+        }
+
+        List<String> outgoing = new ArrayList<>(filters);
+        outgoing.add(0, "t.origin_account_id = ?");
+        parameters.add(query.accountId());
+        parameters.addAll(filterParameters);
+
+        List<String> incoming = new ArrayList<>(filters);
+        incoming.add(0, "t.destination_account_id = ? AND t.origin_account_id <> ?");
+        parameters.add(query.accountId());
+        parameters.add(query.accountId());
+        parameters.addAll(filterParameters);
+
+        return select(outgoing) + " UNION ALL " + select(incoming) + " ORDER BY occurred_at, id";
+    }
+
+    private static String select(List<String> filters) {
+        String sql = "SELECT " + COLUMNS + " FROM transfer_transactions t";
+        return filters.isEmpty() ? sql : sql + " WHERE " + String.join(" AND ", filters);
+    }
+
+    private int activeExports() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public record ExportStats(
+            int fetchSize,
+            int maxConcurrent,
+            long timeoutMs,
+            int activeExports,
+            long completedExports,
+            long failedExports,
+            long rejectedExports,
+            long exportedRows) {
+    }
+}
@@ -0,0 +1,19 @@
+package com.lab.banco;
+
+import java.time.LocalDateTime;
+import org.springframework.format.annotation.DateTimeFormat;
+
+public record TransferHistoryQuery(
+        Long accountId,
+        TransferCategory category,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+        Money minAmount,
+        Money maxAmount,
+        Integer limit,
+        String cursor) {
+
+    static TransferHistoryQuery unfiltered() {
+        return new TransferHistoryQuery(null, null, null, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,116 @@
+package com.lab.banco;
+
+import java.time.LocalDateTime;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import org.springframework.data.domain.Persistable;
+
+@Entity
+@Table(name = "transfer_idempotency_keys", indexes = {
+        @Index(name = "idx_transfer_idempotency_keys_created_at", columnList = "created_at")
+})
+public class TransferIdempotencyKey implements Persistable<String> {
+
+    @Id
+    @Column(length = 128)
+    private String idempotencyKey;
+
+    @Column
+    private Long transferId;
+
+    @Column(nullable = false)
+    private Long originAccountId;
+
+    @Column(nullable = false)
+    private Long destinationAccountId;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private Money amount;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Transient
+    private boolean persisted;
+
+    static TransferIdempotencyKey of(String idempotencyKey, TransferTransaction transfer) {
+        TransferIdempotencyKey key = new TransferIdempotencyKey();
+        key.setIdempotencyKey(idempotencyKey);
+        key.setTransferId(transfer.getId());
+        key.setOriginAccountId(transfer.getOriginAccountId());
+        key.setDestinationAccountId(transfer.getDestinationAccountId());
+        key.setAmount(transfer.getAmount());
+        key.setCreatedAt(transfer.getOccurredAt());
+        return key;
+    }
+
+    @Override
+    public String getId() {
+        return idempotencyKey;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public Long getTransferId() {
+        return transferId;
+    }
+
+    public void setTransferId(Long transferId) {
+        this.transferId = transferId;
+    }
+
+    public Long getOriginAccountId() {
+        return originAccountId;
+    }
+
+    public void setOriginAccountId(Long originAccountId) {
+        this.originAccountId = originAccountId;
+    }
+
+    public Long getDestinationAccountId() {
+        return destinationAccountId;
+    }
+
+    public void setDestinationAccountId(Long destinationAccountId) {
+        this.destinationAccountId = destinationAccountId;
+    }
+
+    public Money getAmount() {
+        return amount;
+    }
+
+    public void setAmount(Money amount) {
+        this.amount = amount;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,22 @@
+package com.lab.banco;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface TransferIdempotencyKeyRepository extends JpaRepository<TransferIdempotencyKey, String> {
+
+    List<TransferIdempotencyKey> findByIdempotencyKeyIn(Collection<String> idempotencyKeys);
+
+    @Query("select k.idempotencyKey from TransferIdempotencyKey k order by k.createdAt desc")
+    List<String> findRecentKeys(Limit limit);
+
+    @Modifying
+    @Query("delete from TransferIdempotencyKey k where k.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
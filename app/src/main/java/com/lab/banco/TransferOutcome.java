@@ -0,0 +1,8 @@
+package com.lab.banco;
+
+public enum TransferOutcome {
+    COMMITTED,
+    INSUFFICIENT_BALANCE,
+    INVALID,
+    FAILED
+}
@@ -0,0 +1,19 @@
+package com.lab.banco;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class TransferPartitionController {
+
+    private final TransferPartitionService transferPartitionService;
+
+    public TransferPartitionController(TransferPartitionService transferPartitionService) {
+        this.transferPartitionService = transferPartitionService;
+    }
+
+    @GetMapping("/transfers/partitions/stats")
+    public TransferPartitionService.PartitionStats partitionStats() {
+        return transferPartitionService.getStats();
+    }
+}
@@ -0,0 +1,462 @@
+package com.lab.banco;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+import javax.sql.DataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Service
+@DependsOnDatabaseInitialization
+public class TransferPartitionService implements InitializingBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TransferPartitionService.class);
+    private static final String TABLE = "transfer_transactions";
+    private static final String PARTITION_PREFIX = TABLE + "_p";
+    private static final String DEFAULT_PARTITION = TABLE + "_default";
+    private static final String LOCK = "SELECT pg_advisory_xact_lock(hashtext('transfer_partitions'), 0)";
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final long detachLockTimeoutMs;
+    private final Path archiveDir;
+    private final boolean archiveRequireVolume;
+    private final ExecutorService maintenanceExecutor;
+    private final AtomicBoolean maintenanceRunning = new AtomicBoolean();
+    private final Timer maintenanceTimer;
+    private final LongAdder archivedPartitions = new LongAdder();
+    private final AtomicLong attachedPartitions = new AtomicLong();
+
+    private volatile LocalDateTime lastMaintenanceAt;
+
+    public TransferPartitionService(
+            DataSource dataSource,
+            MeterRegistry meterRegistry,
+            @Value("${app.transfer-partitions.enabled:true}") boolean enabled,
+            @Value("${app.transfer-partitions.months-ahead:3}") int monthsAhead,
+            @Value("${app.transfer-partitions.retention-months:12}") int retentionMonths,
+            @Value("${app.transfer-partitions.detach-lock-timeout-ms:2000}") long detachLockTimeoutMs,
+            @Value("${app.transfer-partitions.archive-dir:/var/lib/lab-banco/transfer-archive}") String archiveDir,
+            @Value("${app.transfer-partitions.archive-require-volume:true}") boolean archiveRequireVolume) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.enabled = enabled;
+        this.monthsAhead = Math.max(1, monthsAhead);
+        this.retentionMonths = Math.max(1, retentionMonths);
+        this.detachLockTimeoutMs = Math.max(1, detachLockTimeoutMs);
+        this.archiveDir = Path.of(archiveDir);
+        this.archiveRequireVolume = archiveRequireVolume;
+        this.maintenanceExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "transfer-partition-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.maintenanceTimer = Timer.builder("lab.transfer.partitions.maintenance")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        FunctionCounter.builder("lab.transfer.partitions.archived", archivedPartitions, LongAdder::sum)
+                .register(meterRegistry);
+        Gauge.builder("lab.transfer.partitions", attachedPartitions, AtomicLong::get)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!enabled) {
+            return;
+        }
+
+        ensureUpcomingPartitions();
+        attachedPartitions.set(attachedMonths().size());
+    }
+
+    @PreDestroy
+    public void stop() {
+        maintenanceExecutor.shutdownNow();
+    }
+
+    @Scheduled(fixedRateString = "${app.transfer-partitions.maintenance-fixed-rate-ms:3600000}",
+            initialDelayString = "${app.transfer-partitions.maintenance-initial-delay-ms:60000}")
+    public void scheduleMaintenance() {
+        if (!enabled || !maintenanceRunning.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            maintenanceExecutor.execute(() -> {
+                try {
+                    runMaintenance();
+                } finally {
+                    maintenanceRunning.set(false);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            maintenanceRunning.set(false);
+        }
+    }
+
+    private void runMaintenance() {
+        try {
+            maintenanceTimer.record(() -> {
+                ensureUpcomingPartitions();
+                archiveExpiredPartitions();
+                attachedPartitions.set(attachedMonths().size());
+            });
+            lastMaintenanceAt = LocalDateTime.now();
+        } catch (Exception ex) {
+            LOG.warn("Transfer partition maintenance failed", ex);
+        }
+    }
+
+    public PartitionStats getStats() {
+        List<PartitionInfo> partitions = new ArrayList<>();
+        if (enabled) {
+            jdbcTemplate.query("""
+                    SELECT c.relname, GREATEST(c.reltuples, 0)::bigint
+                    FROM pg_inherits i
+                    JOIN pg_class c ON c.oid = i.inhrelid
+                    WHERE i.inhparent = 'transfer_transactions'::regclass
+                    ORDER BY c.relname
+                    """, (RowCallbackHandler) rs -> {
+                String name = rs.getString(1);
+                YearMonth month = monthOf(name);
+                partitions.add(new PartitionInfo(
+                        name,
+                        month == null ? null : month.atDay(1).atStartOfDay(),
+                        month == null ? null : month.plusMonths(1).atDay(1).atStartOfDay(),
+                        rs.getLong(2)));
+            });
+        }
+        return new PartitionStats(
+                enabled,
+                monthsAhead,
+                retentionMonths,
+                archiveDir.toAbsolutePath().toString(),
+                archivedPartitions.sum(),
+                lastMaintenanceAt,
+                partitions);
+    }
+
+    private void ensureUpcomingPartitions() {
+        YearMonth current = YearMonth.now();
+        Set<YearMonth> existing = Set.copyOf(attachedMonths());
+        List<YearMonth> missing = new ArrayList<>();
+        for (YearMonth month = current; !month.isAfter(current.plusMonths(monthsAhead)); month = month.plusMonths(1)) {
+            if (!existing.contains(month)) {
+                missing.add(month);
+            }
+        }
+        for (YearMonth month : defaultPartitionMonths()) {
+            if (!existing.contains(month) && !missing.contains(month)) {
+                missing.add(month);
+            }
+        }
+        missing.sort(Comparator.naturalOrder());
+
+        if (!missing.isEmpty()) {
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                boolean autoCommit = connection.getAutoCommit();
+                connection.setAutoCommit(false);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute(LOCK);
+                    for (YearMonth month : missing) {
+                        createPartition(statement, month);
+                    }
+                    connection.commit();
+                    return null;
+                } catch (SQLException | RuntimeException ex) {
+                    connection.rollback();
+                    throw ex;
+                } finally {
+                    connection.setAutoCommit(autoCommit);
+                }
+            });
+            LOG.info("Created transfer partition(s) for {}", missing);
+        }
+    }
+
+    private void archiveExpiredPartitions() {
+        String archiveProblem = archiveDirProblem();
+        if (archiveProblem != null) {
+            LOG.warn("Skipping transfer partition retention: archive dir {} {}", archiveDir, archiveProblem);
+            return;
+        }
+
+        YearMonth cutoff = YearMonth.now().minusMonths(retentionMonths);
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                if (!tryLock(statement)) {
+                    return null;
+                }
+
+                try {
+                    foldExpiredHistory(connection, statement, cutoff.atDay(1).atStartOfDay());
+                    for (String partition : partitionsToDetach(statement, cutoff)) {
+                        statement.execute("SET lock_timeout = " + detachLockTimeoutMs);
+                        try {
+                            statement.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + partition);
+                        } finally {
+                            statement.execute("RESET lock_timeout");
+                        }
+                        LOG.info("Detached transfer partition {}", partition);
+                    }
+                    for (String table : detachedPartitions(statement)) {
+                        archive(connection, table);
+                        statement.execute("DROP TABLE " + table);
+                        archivedPartitions.increment();
+                        LOG.info("Archived and dropped transfer partition {}", table);
+                    }
+                } finally {
+                    statement.execute("SELECT pg_advisory_unlock(hashtext('transfer_partitions'), 0)");
+                }
+            }
+            return null;
+        });
+    }
+
+    private void foldExpiredHistory(Connection connection, Statement statement, LocalDateTime foldBefore)
+            throws SQLException {
+        String expired = "t.occurred_at >= COALESCE((SELECT folded_before FROM account_transfer_totals_horizon), '-infinity')"
+                + " AND t.occurred_at < '" + foldBefore + "'";
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            try (ResultSet rs = statement.executeQuery(
+                    "SELECT COALESCE(MAX(folded_before), '-infinity') < '" + foldBefore + "'"
+                            + " FROM account_transfer_totals_horizon")) {
+                if (!rs.next() || !rs.getBoolean(1)) {
+                    connection.rollback();
+                    return;
+                }
+            }
+
+            int accounts = statement.executeUpdate("""
+                    INSERT INTO account_transfer_totals_baseline AS b
+                        (account_id, total_in, total_out, transfer_count, last_transfer_id)
+                    SELECT x.account_id, SUM(x.total_in), SUM(x.total_out), COUNT(*), MAX(x.id)
+                    FROM (
+                        SELECT t.origin_account_id AS account_id, 0 AS total_in, t.amount AS total_out, t.id
+                        FROM transfer_transactions t
+                        WHERE %1$s
+                        UNION ALL
+                        SELECT t.destination_account_id, t.amount, 0, t.id
+                        FROM transfer_transactions t
+                        WHERE %1$s
+                    ) x
+                    GROUP BY x.account_id
+                    ORDER BY x.account_id
+                    ON CONFLICT (account_id) DO UPDATE
+                    SET total_in = b.total_in + EXCLUDED.total_in,
+                        total_out = b.total_out + EXCLUDED.total_out,
+                        transfer_count = b.transfer_count + EXCLUDED.transfer_count,
+                        last_transfer_id = GREATEST(b.last_transfer_id, EXCLUDED.last_transfer_id)
+                    """.formatted(expired));
+            statement.executeUpdate("INSERT INTO account_transfer_totals_horizon (id, folded_before)"
+                    + " VALUES (1, '" + foldBefore + "')"
+                    + " ON CONFLICT (id) DO UPDATE SET folded_before = EXCLUDED.folded_before");
+            connection.commit();
+            LOG.info("Folded transfer history before {} into the totals baseline of {} account(s)", foldBefore, accounts);
+        } catch (SQLException | RuntimeException ex) {
+            connection.rollback();
+            throw ex;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private List<String> partitionsToDetach(Statement statement, YearMonth cutoff) throws SQLException {
+        List<String> expired = new ArrayList<>();
+        List<String> pending = new ArrayList<>();
+        try (ResultSet rs = statement.executeQuery("""
+                SELECT c.relname, i.inhdetachpending
+                FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = 'transfer_transactions'::regclass
+                ORDER BY c.relname
+                """)) {
+            while (rs.next()) {
+                YearMonth month = monthOf(rs.getString(1));
+                if (rs.getBoolean(2)) {
+                    pending.add(rs.getString(1));
+                } else if (month != null && month.isBefore(cutoff)) {
+                    expired.add(rs.getString(1));
+                }
+            }
+        }
+
+        for (String partition : pending) {
+            statement.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + partition + " FINALIZE");
+        }
+        return expired;
+    }
+
+    private List<String> detachedPartitions(Statement statement) throws SQLException {
+        List<String> detached = new ArrayList<>();
+        try (ResultSet rs = statement.executeQuery("""
+                SELECT c.relname
+                FROM pg_class c
+                JOIN pg_namespace n ON n.oid = c.relnamespace
+                WHERE n.nspname = current_schema()
+                  AND c.relkind = 'r'
+                  AND NOT c.relispartition
+                  AND c.relname ~ '^transfer_transactions_p[0-9]{6}$'
+                ORDER BY c.relname
+                """)) {
+            while (rs.next()) {
+                detached.add(rs.getString(1));
+            }
+        }
+        return detached;
+    }
+
+    private String archiveDirProblem() {
+        if (!archiveDir.isAbsolute()) {
+            return "is relative and would live inside the container";
+        }
+        try {
+            Files.createDirectories(archiveDir);
+            if (!Files.isWritable(archiveDir)) {
+                return "is not writable";
+            }
+            if (archiveRequireVolume
+                    && Files.getFileStore(archiveDir).equals(Files.getFileStore(archiveDir.getRoot()))) {
+                return "is not on a mounted volume (app.transfer-partitions.archive-require-volume)";
+            }
+        } catch (IOException ex) {
+            return "is not usable: " + ex.getMessage();
+        }
+        return null;
+    }
+
+    private void archive(Connection connection, String table) throws SQLException {
+        Path target = archiveDir.resolve(table + ".csv.gz");
+        Path partial = archiveDir.resolve(table + ".csv.gz.partial");
+        try {
+            try (FileChannel channel = FileChannel.open(partial,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                    GZIPOutputStream out = new GZIPOutputStream(Channels.newOutputStream(channel), 65536)) {
+                connection.unwrap(PGConnection.class).getCopyAPI()
+                        .copyOut("COPY " + table + " TO STDOUT WITH (FORMAT csv, HEADER)", out);
+                out.finish();
+                channel.force(true);
+            }
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            try (FileChannel directory = FileChannel.open(archiveDir, StandardOpenOption.READ)) {
+                directory.force(true);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to archive " + table + " to " + target, ex);
+        }
+    }
+
+    private List<YearMonth> attachedMonths() {
+        return jdbcTemplate.query("""
+                SELECT c.relname
+                FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = 'transfer_transactions'::regclass
+                """, (rs, rowNum) -> monthOf(rs.getString(1)))
+                .stream()
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private List<YearMonth> defaultPartitionMonths() {
+        return jdbcTemplate.query(
+                "SELECT DISTINCT date_trunc('month', occurred_at) FROM " + DEFAULT_PARTITION,
+                (rs, rowNum) -> YearMonth.from(rs.getTimestamp(1).toLocalDateTime()));
+    }
+
+    private static void createPartition(Statement statement, YearMonth month) throws SQLException {
+        String partition = PARTITION_PREFIX + month.format(SUFFIX);
+        String bounds = "FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')";
+        String range = "occurred_at >= '" + month.atDay(1) + "' AND occurred_at < '" + month.plusMonths(1).atDay(1) + "'";
+        boolean hasDefaultRows;
+        try (ResultSet rs = statement.executeQuery(
+                "SELECT EXISTS (SELECT 1 FROM " + DEFAULT_PARTITION + " WHERE " + range + ")")) {
+            hasDefaultRows = rs.next() && rs.getBoolean(1);
+        }
+        if (!hasDefaultRows) {
+            statement.execute("CREATE TABLE IF NOT EXISTS " + partition + " PARTITION OF " + TABLE + " " + bounds);
+            return;
+        }
+
+        statement.execute("CREATE TABLE " + partition
+                + " (LIKE " + TABLE + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        int moved = statement.executeUpdate("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION
+                + " WHERE " + range + " RETURNING *) INSERT INTO " + partition + " SELECT * FROM moved");
+        statement.execute("ALTER TABLE " + TABLE + " ATTACH PARTITION " + partition + " " + bounds);
+        LOG.info("Moved {} transfer(s) from {} into {}", moved, DEFAULT_PARTITION, partition);
+    }
+
+    private static boolean tryLock(Statement statement) throws SQLException {
+        try (ResultSet rs = statement.executeQuery(
+                "SELECT pg_try_advisory_lock(hashtext('transfer_partitions'), 0)")) {
+            return rs.next() && rs.getBoolean(1);
+        }
+    }
+
+    private static YearMonth monthOf(String partition) {
+        if (partition == null || !partition.matches(PARTITION_PREFIX + "\\d{6}")) {
+            return null;
+        }
+        return YearMonth.parse(partition.substring(PARTITION_PREFIX.length()), SUFFIX);
+    }
+
+    public record PartitionInfo(
+            String name,
+            LocalDateTime from,
+            LocalDateTime to,
+            long estimatedRows) {
+    }
+
+    public record PartitionStats(
+            boolean enabled,
+            int monthsAhead,
+            int retentionMonths,
+            String archiveDir,
+            long archivedPartitions,
+            LocalDateTime lastMaintenanceAt,
+            List<PartitionInfo> partitions) {
+    }
+}
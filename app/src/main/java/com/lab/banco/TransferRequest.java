@@ -0,0 +1,17 @@
+package com.lab.banco;
+
+public record TransferRequest(
+        Long originAccountId,
+        Long destinationAccountId,
+        Money amount,
+        TransferCategory category,
+        String idempotencyKey) {
+
+    public TransferRequest(Long originAccountId, Long destinationAccountId, Money amount, TransferCategory category) {
+        this(originAccountId, destinationAccountId, amount, category, null);
+    }
+
+    public TransferRequest withIdempotencyKey(String key) {
+        return new TransferRequest(originAccountId, destinationAccountId, amount, category, key);
+    }
+}
@@ -0,0 +1,43 @@
+package com.lab.banco;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TransferResponseMapper {
+
+    private final AccountMetadataCache accountMetadataCache;
+
+    public TransferResponseMapper(AccountMetadataCache accountMetadataCache) {
+        this.accountMetadataCache = accountMetadataCache;
+    }
+
+    public List<TransactionController.TransferResponse> map(List<TransferTransaction> transfers) {
+        if (transfers.isEmpty()) {
+            return List.of();
+        }
+
+        Set<Long> accountIds = new HashSet<>();
+        for (TransferTransaction transfer : transfers) {
+            accountIds.add(transfer.getOriginAccountId());
+            accountIds.add(transfer.getDestinationAccountId());
+        }
+
+        Map<Long, String> accountNamesById = accountMetadataCache.namesById(accountIds);
+
+        return transfers.stream()
+                .map(transfer -> new TransactionController.TransferResponse(
+                        transfer.getId(),
+                        transfer.getOriginAccountId(),
+                        accountNamesById.getOrDefault(transfer.getOriginAccountId(), "Unknown"),
+                        transfer.getDestinationAccountId(),
+                        accountNamesById.getOrDefault(transfer.getDestinationAccountId(), "Unknown"),
+                        transfer.getAmount(),
+                        transfer.getOccurredAt(),
+                        transfer.getCategory() == null ? TransferCategory.MOCK : transfer.getCategory()))
+                .toList();
+    }
+}
@@ -0,0 +1,22 @@
+package com.lab.banco;
+
+public record TransferResult(
+        int index,
+        TransferOutcome outcome,
+        Long transferId,
+        String message) {
+
+    static final String REPLAYED = "Replayed idempotency key";
+
+    static TransferResult committed(int index, Long transferId) {
+        return new TransferResult(index, TransferOutcome.COMMITTED, transferId, null);
+    }
+
+    static TransferResult replayed(int index, Long transferId) {
+        return new TransferResult(index, TransferOutcome.COMMITTED, transferId, REPLAYED);
+    }
+
+    static TransferResult rejected(int index, TransferOutcome outcome, String message) {
+        return new TransferResult(index, outcome, null, message);
+    }
+}
@@ -1,82 +1,672 @@
 package com.lab.banco;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 public class TransferService {
 
+    private static final String ORIGIN_NOT_FOUND = "Origin account not found";
+    private static final String DESTINATION_NOT_FOUND = "Destination account not found";
+    private static final String INSUFFICIENT_BALANCE = "Insufficient balance";
+    private static final String IDEMPOTENCY_KEY_REUSED = "Idempotency key was already used for a different transfer";
+    private static final String IDEMPOTENCY_KEY_PARTIAL = "Transfer for this idempotency key was only partially applied";
+
     private final AccountRepository accountRepository;
     private final TransferTransactionRepository transferTransactionRepository;
+    private final BalanceStripingService balanceStripingService;
+    private final LedgerService ledgerService;
+    private final OutboxService outboxService;
+    private final IdempotencyService idempotencyService;
+    private final AccountTransferTotalsService accountTransferTotalsService;
+    private final AdmissionControlService admissionControlService;
+    private final TransactionTemplate transactionTemplate;
+    private final TransferConcurrencyStrategy concurrencyStrategy;
+    private final int maxAttempts;
+    private final int batchChunkSize;
     private final boolean chaosEnabled;
     private final long chaosSleepBeforeUpdateMs;
     private final double chaosFailAfterOriginUpdateProbability;
+    private final Timer successTimer;
+    private final Timer replayTimer;
+    private final Timer insufficientBalanceTimer;
+    private final Timer validationErrorTimer;
+    private final Timer chaosFailureTimer;
+    private final Timer dbErrorTimer;
+    private final Timer committedChunkTimer;
+    private final Timer failedChunkTimer;
+
+    private final long statsStartedAtNanos = System.nanoTime();
+    private final LongAdder attempts = new LongAdder();
+    private final LongAdder abortedAttempts = new LongAdder();
+    private final LongAdder committedTransfers = new LongAdder();
+    private final LongAdder replayedTransfers = new LongAdder();
+    private final LongAdder rejectedTransfers = new LongAdder();
+    private final LongAdder failedTransfers = new LongAdder();
+    private final LongAdder committedTransferNanos = new LongAdder();
 
     public TransferService(
             AccountRepository accountRepository,
             TransferTransactionRepository transferTransactionRepository,
+            BalanceStripingService balanceStripingService,
+            LedgerService ledgerService,
+            OutboxService outboxService,
+            IdempotencyService idempotencyService,
+            AccountTransferTotalsService accountTransferTotalsService,
+            AdmissionControlService admissionControlService,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.transfer.concurrency-strategy:unsafe}") TransferConcurrencyStrategy concurrencyStrategy,
+            @Value("${app.transfer.max-attempts:5}") int maxAttempts,
+            @Value("${app.transfer.batch.chunk-size:500}") int batchChunkSize,
             @Value("${app.chaos.enabled:false}") boolean chaosEnabled,
             @Value("${app.chaos.sleep-before-update-ms:0}") long chaosSleepBeforeUpdateMs,
             @Value("${app.chaos.fail-after-origin-update-probability:0.0}") double chaosFailAfterOriginUpdateProbability) {
         this.accountRepository = accountRepository;
         this.transferTransactionRepository = transferTransactionRepository;
+        this.balanceStripingService = balanceStripingService;
+        this.ledgerService = ledgerService;
+        this.outboxService = outboxService;
+        this.idempotencyService = idempotencyService;
+        this.accountTransferTotalsService = accountTransferTotalsService;
+        this.admissionControlService = admissionControlService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.concurrencyStrategy = concurrencyStrategy;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.batchChunkSize = Math.max(1, batchChunkSize);
         this.chaosEnabled = chaosEnabled;
         this.chaosSleepBeforeUpdateMs = Math.max(0, chaosSleepBeforeUpdateMs);
         this.chaosFailAfterOriginUpdateProbability = Math.max(0.0, Math.min(1.0, chaosFailAfterOriginUpdateProbability));
+        this.successTimer = transferTimer(meterRegistry, "lab.transfer", "success");
+        this.replayTimer = transferTimer(meterRegistry, "lab.transfer", "replayed");
+        this.insufficientBalanceTimer = transferTimer(meterRegistry, "lab.transfer", "insufficient_balance");
+        this.validationErrorTimer = transferTimer(meterRegistry, "lab.transfer", "validation_error");
+        this.chaosFailureTimer = transferTimer(meterRegistry, "lab.transfer", "chaos_failure");
+        this.dbErrorTimer = transferTimer(meterRegistry, "lab.transfer", "db_error");
+        this.committedChunkTimer = transferTimer(meterRegistry, "lab.transfer.chunk", "committed");
+        this.failedChunkTimer = transferTimer(meterRegistry, "lab.transfer.chunk", "failed");
     }
 
-    @Transactional(noRollbackFor = ChaosInconsistencyException.class)
-    public void transfer(Long originAccountId, Long destinationAccountId, BigDecimal amount) {
+    public void transfer(Long originAccountId, Long destinationAccountId, Money amount) {
         transfer(originAccountId, destinationAccountId, amount, TransferCategory.MOCK);
     }
 
-    @Transactional(noRollbackFor = ChaosInconsistencyException.class)
     public void transfer(
             Long originAccountId,
             Long destinationAccountId,
-            BigDecimal amount,
+            Money amount,
             TransferCategory category) {
-        validateTransferInput(originAccountId, destinationAccountId, amount);
+        transfer(new TransferRequest(originAccountId, destinationAccountId, amount, category));
+    }
 
-        Account origin = accountRepository.findById(originAccountId)
-                .orElseThrow(() -> new IllegalArgumentException("Origin account not found"));
+    public TransferResult transfer(TransferRequest request) {
+        try (AdmissionControlService.Permit permit = admissionControlService.acquire(WorkloadClass.TRANSFER_WRITE)) {
+            try {
+                return transferAdmitted(request);
+            } catch (IllegalArgumentException | InsufficientBalanceException ex) {
+                throw ex;
+            } catch (RuntimeException ex) {
+                permit.markDropped();
+                throw ex;
+            }
+        }
+    }
 
-        Account destination = accountRepository.findById(destinationAccountId)
-                .orElseThrow(() -> new IllegalArgumentException("Destination account not found"));
+    public List<TransferResult> transferBatch(List<TransferRequest> requests) {
+        List<TransferResult> results = new ArrayList<>(requests.size());
+        for (int offset = 0; offset < requests.size(); offset += batchChunkSize) {
+            List<TransferRequest> chunk = requests.subList(offset, Math.min(requests.size(), offset + batchChunkSize));
+            results.addAll(transferChunk(chunk, offset));
+        }
+        return results;
+    }
+
+    private TransferResult transferAdmitted(TransferRequest request) {
+        long startedAt = System.nanoTime();
+        ConcurrencyFailureException lastConflict = null;
+        try {
+            if (request == null) {
+                throw new IllegalArgumentException("Transfer is required");
+            }
+
+            validateTransferInput(request.originAccountId(), request.destinationAccountId(), request.amount());
+            String idempotencyKey = IdempotencyService.normalize(request.idempotencyKey());
+            TransferResult replayed = replayOf(request, idempotencyKey, false);
+            if (replayed != null) {
+                recordReplay(startedAt);
+                return replayed;
+            }
 
-        if (origin.getBalance().compareTo(amount) < 0) {
-            throw new IllegalStateException("Insufficient balance");
+            for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+                attempts.increment();
+                try {
+                    Long transferId = executeAttempt(request, idempotencyKey);
+                    long elapsedNanos = System.nanoTime() - startedAt;
+                    committedTransfers.increment();
+                    committedTransferNanos.add(elapsedNanos);
+                    successTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+                    return TransferResult.committed(0, transferId);
+                } catch (ConcurrencyFailureException ex) {
+                    abortedAttempts.increment();
+                    lastConflict = ex;
+                } catch (DataIntegrityViolationException ex) {
+                    replayed = replayOf(request, idempotencyKey, true);
+                    if (replayed == null) {
+                        throw ex;
+                    }
+                    recordReplay(startedAt);
+                    return replayed;
+                }
+            }
+        } catch (IllegalArgumentException ex) {
+            rejectedTransfers.increment();
+            validationErrorTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            throw ex;
+        } catch (InsufficientBalanceException ex) {
+            rejectedTransfers.increment();
+            insufficientBalanceTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            throw ex;
+        } catch (ChaosInconsistencyException ex) {
+            failedTransfers.increment();
+            chaosFailureTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            throw ex;
+        } catch (RuntimeException ex) {
+            failedTransfers.increment();
+            dbErrorTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            throw ex;
         }
 
-        maybeSleepBeforeUpdate();
+        failedTransfers.increment();
+        dbErrorTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        throw lastConflict;
+    }
 
-        origin.setBalance(origin.getBalance().subtract(amount));
-        destination.setBalance(destination.getBalance().add(amount));
+    private TransferResult replayOf(TransferRequest request, String idempotencyKey, boolean verify) {
+        if (idempotencyKey == null) {
+            return null;
+        }
 
-        accountRepository.save(origin);
+        IdempotencyService.CommittedTransfer committed = idempotencyService
+                .findCommitted(List.of(idempotencyKey), verify)
+                .get(idempotencyKey);
+        if (committed == null) {
+            return null;
+        }
 
-        if (shouldInjectFailureAfterOriginUpdate()) {
-            throw new ChaosInconsistencyException(
-                    "Chaos mode injected failure after origin update (partial commit simulation)");
+        if (!committed.matches(request)) {
+            throw new IllegalArgumentException(IDEMPOTENCY_KEY_REUSED);
+        }
+        if (committed.partial()) {
+            throw new ChaosInconsistencyException(IDEMPOTENCY_KEY_PARTIAL);
+        }
+        return TransferResult.replayed(0, committed.transferId());
+    }
+
+    private void recordReplay(long startedAt) {
+        replayedTransfers.increment();
+        replayTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+    }
+
+    List<TransferResult> transferGroup(List<TransferRequest> requests) {
+        return transferChunk(requests, 0);
+    }
+
+    public TransferStats getStats() {
+        double elapsedSeconds = Math.max(1e-9, (System.nanoTime() - statsStartedAtNanos) / 1_000_000_000.0);
+        long totalAttempts = attempts.sum();
+        long aborted = abortedAttempts.sum();
+        long committed = committedTransfers.sum();
+
+        return new TransferStats(
+                concurrencyStrategy,
+                committed,
+                replayedTransfers.sum(),
+                aborted,
+                rejectedTransfers.sum(),
+                failedTransfers.sum(),
+                totalAttempts == 0 ? 0.0 : (double) aborted / totalAttempts,
+                committed / elapsedSeconds,
+                committed == 0 ? 0.0 : committedTransferNanos.sum() / 1_000_000.0 / committed);
+    }
+
+    private Long executeAttempt(TransferRequest request, String idempotencyKey) {
+        AttemptOutcome outcome = transactionTemplate.execute(status -> {
+            TransferTransaction transaction = newTransaction(
+                    request.originAccountId(),
+                    request.destinationAccountId(),
+                    request.amount(),
+                    request.category(),
+                    LocalDateTime.now());
+            try {
+                applyTransfer(transaction);
+            } catch (ChaosInconsistencyException ex) {
+                discardPartialTransfer(transaction, idempotencyKey);
+                return new AttemptOutcome(null, ex);
+            }
+
+            outboxService.append(transaction);
+            if (idempotencyKey != null) {
+                idempotencyService.record(Map.of(idempotencyKey, transaction));
+            }
+            accountTransferTotalsService.record(List.of(transaction));
+            return new AttemptOutcome(transaction.getId(), null);
+        });
+
+        if (outcome.chaosFailure() != null) {
+            throw outcome.chaosFailure();
+        }
+        return outcome.transferId();
+    }
+
+    private void discardPartialTransfer(TransferTransaction transaction, String idempotencyKey) {
+        if (transaction.getId() != null) {
+            transferTransactionRepository.delete(transaction);
+        }
+        if (idempotencyKey != null) {
+            idempotencyService.recordPartial(idempotencyKey, transaction);
+        }
+    }
+
+    private void applyTransfer(TransferTransaction transaction) {
+        Long originAccountId = transaction.getOriginAccountId();
+        Long destinationAccountId = transaction.getDestinationAccountId();
+        Money amount = transaction.getAmount();
+        if (concurrencyStrategy == TransferConcurrencyStrategy.LEDGER) {
+            transferWithLedgerEntries(transaction);
+            return;
+        }
+
+        if (balanceStripingService.isStriped(originAccountId)
+                || balanceStripingService.isStriped(destinationAccountId)) {
+            transferWithConditionalDebit(originAccountId, destinationAccountId, amount);
+        } else {
+            switch (concurrencyStrategy) {
+                case OPTIMISTIC -> transferWithVersionCheck(originAccountId, destinationAccountId, amount);
+                case PESSIMISTIC -> transferWithRowLocks(originAccountId, destinationAccountId, amount);
+                case ATOMIC -> transferWithConditionalDebit(originAccountId, destinationAccountId, amount);
+                default -> transferWithReadModifyWrite(originAccountId, destinationAccountId, amount);
+            }
+        }
+        transferTransactionRepository.save(transaction);
+    }
+
+    private List<TransferResult> transferChunk(List<TransferRequest> chunk, int offset) {
+        long startedAt = System.nanoTime();
+        RuntimeException lastFailure = null;
+        boolean verifyKeys = false;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            attempts.increment();
+            boolean verify = verifyKeys;
+            try {
+                List<TransferResult> results = transactionTemplate.execute(status -> applyChunk(chunk, offset, verify));
+                long elapsedNanos = System.nanoTime() - startedAt;
+                recordChunkOutcomes(results, elapsedNanos);
+                committedChunkTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+                return results;
+            } catch (ConcurrencyFailureException ex) {
+                abortedAttempts.increment();
+                lastFailure = ex;
+            } catch (DataIntegrityViolationException ex) {
+                lastFailure = ex;
+                if (verifyKeys) {
+                    break;
+                }
+                abortedAttempts.increment();
+                verifyKeys = true;
+            } catch (RuntimeException ex) {
+                lastFailure = ex;
+                break;
+            }
+        }
+
+        failedTransfers.add(chunk.size());
+        failedChunkTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        List<TransferResult> results = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            results.add(TransferResult.rejected(offset + i, TransferOutcome.FAILED, lastFailure.getMessage()));
+        }
+        return results;
+    }
+
+    private List<TransferResult> applyChunk(List<TransferRequest> chunk, int offset, boolean verifyKeys) {
+        ChunkResults chunkResults = new ChunkResults(chunk, offset, verifyKeys);
+        if (concurrencyStrategy == TransferConcurrencyStrategy.LEDGER) {
+            return applyChunkToLedger(chunk, chunkResults);
+        }
+
+        Map<Long, Account> lockedAccounts = lockChunkAccounts(chunk);
+        LocalDateTime occurredAt = LocalDateTime.now();
+
+        for (int i = 0; i < chunk.size(); i++) {
+            TransferRequest request = chunk.get(i);
+            String invalidReason = invalidReason(request, accountId -> knownInChunk(accountId, lockedAccounts));
+            if (invalidReason != null) {
+                chunkResults.reject(i, TransferOutcome.INVALID, invalidReason);
+                continue;
+            }
+
+            if (chunkResults.replay(i)) {
+                continue;
+            }
+
+            if (!debitInChunk(request.originAccountId(), request.amount(), lockedAccounts)) {
+                chunkResults.reject(i, TransferOutcome.INSUFFICIENT_BALANCE, INSUFFICIENT_BALANCE);
+                continue;
+            }
+
+            creditInChunk(request.destinationAccountId(), request.amount(), lockedAccounts);
+            chunkResults.accept(i, occurredAt);
+        }
+
+        return completeChunk(chunkResults);
+    }
+
+    private List<TransferResult> applyChunkToLedger(List<TransferRequest> chunk, ChunkResults chunkResults) {
+        Set<Long> debitAccountIds = new TreeSet<>();
+        Set<Long> accountIds = new TreeSet<>();
+        for (TransferRequest request : chunk) {
+            if (request != null && request.originAccountId() != null && request.destinationAccountId() != null) {
+                debitAccountIds.add(request.originAccountId());
+                accountIds.add(request.originAccountId());
+                accountIds.add(request.destinationAccountId());
+            }
+        }
+
+        Map<Long, Money> balances = ledgerService.lockAndLoadBalances(debitAccountIds, accountIds);
+        LocalDateTime occurredAt = LocalDateTime.now();
+
+        for (int i = 0; i < chunk.size(); i++) {
+            TransferRequest request = chunk.get(i);
+            String invalidReason = invalidReason(request, balances::containsKey);
+            if (invalidReason != null) {
+                chunkResults.reject(i, TransferOutcome.INVALID, invalidReason);
+                continue;
+            }
+
+            if (chunkResults.replay(i)) {
+                continue;
+            }
+
+            Money available = balances.get(request.originAccountId());
+            if (available.isLessThan(request.amount())) {
+                chunkResults.reject(i, TransferOutcome.INSUFFICIENT_BALANCE, INSUFFICIENT_BALANCE);
+                continue;
+            }
+
+            balances.put(request.originAccountId(), available.minus(request.amount()));
+            balances.merge(request.destinationAccountId(), request.amount(), Money::plus);
+            chunkResults.accept(i, occurredAt);
+        }
+
+        return completeChunk(chunkResults);
+    }
+
+    private List<TransferResult> completeChunk(ChunkResults chunkResults) {
+        List<TransferTransaction> pending = chunkResults.pending();
+        transferTransactionRepository.saveAll(pending);
+        if (concurrencyStrategy == TransferConcurrencyStrategy.LEDGER) {
+            ledgerService.appendAll(pending);
+        }
+        outboxService.appendAll(pending);
+        idempotencyService.record(chunkResults.pendingByKey());
+        accountTransferTotalsService.record(pending);
+        return chunkResults.complete();
+    }
+
+    private Map<Long, Account> lockChunkAccounts(List<TransferRequest> chunk) {
+        SortedSet<Long> accountIds = new TreeSet<>();
+        for (TransferRequest request : chunk) {
+            if (request != null) {
+                addLockableAccount(accountIds, request.originAccountId());
+                addLockableAccount(accountIds, request.destinationAccountId());
+            }
+        }
+
+        Map<Long, Account> lockedAccounts = new HashMap<>();
+        if (!accountIds.isEmpty()) {
+            for (Account account : accountRepository.findAllByIdForUpdate(accountIds)) {
+                lockedAccounts.put(account.getId(), account);
+            }
+        }
+        return lockedAccounts;
+    }
+
+    private void addLockableAccount(SortedSet<Long> accountIds, Long accountId) {
+        if (accountId != null && !balanceStripingService.isStriped(accountId)) {
+            accountIds.add(accountId);
+        }
+    }
+
+    private String invalidReason(TransferRequest request, Predicate<Long> knownAccount) {
+        if (request == null) {
+            return "Transfer is required";
+        }
+
+        try {
+            validateTransferInput(request.originAccountId(), request.destinationAccountId(), request.amount());
+            IdempotencyService.normalize(request.idempotencyKey());
+        } catch (IllegalArgumentException ex) {
+            return ex.getMessage();
+        }
+
+        if (!knownAccount.test(request.originAccountId())) {
+            return ORIGIN_NOT_FOUND;
+        }
+
+        if (!knownAccount.test(request.destinationAccountId())) {
+            return DESTINATION_NOT_FOUND;
+        }
+
+        return null;
+    }
+
+    private boolean knownInChunk(Long accountId, Map<Long, Account> lockedAccounts) {
+        return lockedAccounts.containsKey(accountId) || balanceStripingService.isStriped(accountId);
+    }
+
+    private boolean debitInChunk(Long accountId, Money amount, Map<Long, Account> lockedAccounts) {
+        Account account = lockedAccounts.get(accountId);
+        if (account == null) {
+            return balanceStripingService.debit(accountId, amount);
+        }
+
+        if (account.getBalance().isLessThan(amount)) {
+            return false;
+        }
+
+        account.setBalance(account.getBalance().minus(amount));
+        return true;
+    }
+
+    private void creditInChunk(Long accountId, Money amount, Map<Long, Account> lockedAccounts) {
+        Account account = lockedAccounts.get(accountId);
+        if (account == null) {
+            balanceStripingService.credit(accountId, amount);
+            return;
         }
 
-        accountRepository.save(destination);
+        account.setBalance(account.getBalance().plus(amount));
+    }
 
+    private void recordChunkOutcomes(List<TransferResult> results, long elapsedNanos) {
+        for (TransferResult result : results) {
+            if (result.outcome() == TransferOutcome.COMMITTED && TransferResult.REPLAYED.equals(result.message())) {
+                replayedTransfers.increment();
+            } else if (result.outcome() == TransferOutcome.COMMITTED) {
+                committedTransfers.increment();
+                committedTransferNanos.add(elapsedNanos);
+            } else {
+                rejectedTransfers.increment();
+            }
+        }
+    }
+
+    private Timer transferTimer(MeterRegistry meterRegistry, String name, String outcome) {
+        return Timer.builder(name)
+                .tag("strategy", concurrencyStrategy.name().toLowerCase())
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static TransferTransaction newTransaction(
+            Long originAccountId,
+            Long destinationAccountId,
+            Money amount,
+            TransferCategory category,
+            LocalDateTime occurredAt) {
         TransferTransaction transaction = new TransferTransaction();
         transaction.setOriginAccountId(originAccountId);
         transaction.setDestinationAccountId(destinationAccountId);
         transaction.setAmount(amount);
-        transaction.setOccurredAt(LocalDateTime.now());
+        transaction.setOccurredAt(occurredAt);
         transaction.setCategory(category == null ? TransferCategory.MOCK : category);
+        return transaction;
+    }
+
+    private void transferWithReadModifyWrite(Long originAccountId, Long destinationAccountId, Money amount) {
+        Account origin = accountRepository.findById(originAccountId)
+                .orElseThrow(() -> new IllegalArgumentException(ORIGIN_NOT_FOUND));
+
+        Account destination = accountRepository.findById(destinationAccountId)
+                .orElseThrow(() -> new IllegalArgumentException(DESTINATION_NOT_FOUND));
+
+        ensureSufficientBalance(origin, amount);
+        maybeSleepBeforeUpdate();
+
+        accountRepository.overwriteBalance(origin.getId(), origin.getBalance().minus(amount));
+        maybeInjectFailureAfterOriginUpdate();
+        accountRepository.overwriteBalance(destination.getId(), destination.getBalance().plus(amount));
+    }
+
+    private void transferWithVersionCheck(Long originAccountId, Long destinationAccountId, Money amount) {
+        Account origin = accountRepository.findById(originAccountId)
+                .orElseThrow(() -> new IllegalArgumentException(ORIGIN_NOT_FOUND));
+
+        Account destination = accountRepository.findById(destinationAccountId)
+                .orElseThrow(() -> new IllegalArgumentException(DESTINATION_NOT_FOUND));
+
+        moveManagedBalances(origin, destination, amount);
+    }
+
+    private void transferWithRowLocks(Long originAccountId, Long destinationAccountId, Money amount) {
+        Account origin;
+        Account destination;
+        if (originAccountId < destinationAccountId) {
+            origin = accountRepository.findByIdForUpdate(originAccountId)
+                    .orElseThrow(() -> new IllegalArgumentException(ORIGIN_NOT_FOUND));
+            destination = accountRepository.findByIdForUpdate(destinationAccountId)
+                    .orElseThrow(() -> new IllegalArgumentException(DESTINATION_NOT_FOUND));
+        } else {
+            destination = accountRepository.findByIdForUpdate(destinationAccountId)
+                    .orElseThrow(() -> new IllegalArgumentException(DESTINATION_NOT_FOUND));
+            origin = accountRepository.findByIdForUpdate(originAccountId)
+                    .orElseThrow(() -> new IllegalArgumentException(ORIGIN_NOT_FOUND));
+        }
+
+        moveManagedBalances(origin, destination, amount);
+    }
+
+    private void transferWithConditionalDebit(Long originAccountId, Long destinationAccountId, Money amount) {
+        if (!accountRepository.existsById(destinationAccountId)) {
+            throw new IllegalArgumentException(DESTINATION_NOT_FOUND);
+        }
+
+        maybeSleepBeforeUpdate();
+
+        if (!debit(originAccountId, amount)) {
+            if (!accountRepository.existsById(originAccountId)) {
+                throw new IllegalArgumentException(ORIGIN_NOT_FOUND);
+            }
+            throw new InsufficientBalanceException(INSUFFICIENT_BALANCE);
+        }
+
+        maybeInjectFailureAfterOriginUpdate();
+        credit(destinationAccountId, amount);
+    }
+
+    private void transferWithLedgerEntries(TransferTransaction transaction) {
+        Long originAccountId = transaction.getOriginAccountId();
+        Long destinationAccountId = transaction.getDestinationAccountId();
+        Map<Long, Money> balances = ledgerService.lockAndLoadBalances(
+                List.of(originAccountId),
+                List.of(originAccountId, destinationAccountId));
+        if (!balances.containsKey(originAccountId)) {
+            throw new IllegalArgumentException(ORIGIN_NOT_FOUND);
+        }
+
+        if (!balances.containsKey(destinationAccountId)) {
+            throw new IllegalArgumentException(DESTINATION_NOT_FOUND);
+        }
+
+        if (balances.get(originAccountId).isLessThan(transaction.getAmount())) {
+            throw new InsufficientBalanceException(INSUFFICIENT_BALANCE);
+        }
+
+        maybeSleepBeforeUpdate();
 
         transferTransactionRepository.save(transaction);
+        ledgerService.appendDebit(transaction);
+        maybeInjectFailureAfterOriginUpdate();
+        ledgerService.appendCredit(transaction);
     }
 
-    private void validateTransferInput(Long originAccountId, Long destinationAccountId, BigDecimal amount) {
+    private boolean debit(Long accountId, Money amount) {
+        if (balanceStripingService.isStriped(accountId)) {
+            return balanceStripingService.debit(accountId, amount);
+        }
+
+        return accountRepository.debitIfSufficient(accountId, amount) == 1;
+    }
+
+    private void credit(Long accountId, Money amount) {
+        if (balanceStripingService.isStriped(accountId)) {
+            balanceStripingService.credit(accountId, amount);
+            return;
+        }
+
+        accountRepository.credit(accountId, amount);
+    }
+
+    private void moveManagedBalances(Account origin, Account destination, Money amount) {
+        ensureSufficientBalance(origin, amount);
+        maybeSleepBeforeUpdate();
+
+        origin.setBalance(origin.getBalance().minus(amount));
+        accountRepository.saveAndFlush(origin);
+
+        maybeInjectFailureAfterOriginUpdate();
+
+        destination.setBalance(destination.getBalance().plus(amount));
+        accountRepository.saveAndFlush(destination);
+    }
+
+    private static void ensureSufficientBalance(Account origin, Money amount) {
+        if (origin.getBalance().isLessThan(amount)) {
+            throw new InsufficientBalanceException(INSUFFICIENT_BALANCE);
+        }
+    }
+
+    private void validateTransferInput(Long originAccountId, Long destinationAccountId, Money amount) {
         if (originAccountId == null || destinationAccountId == null) {
             throw new IllegalArgumentException("Origin and destination account ids are required");
         }
@@ -103,6 +693,13 @@ public class TransferService {
         }
     }
 
+    private void maybeInjectFailureAfterOriginUpdate() {
+        if (shouldInjectFailureAfterOriginUpdate()) {
+            throw new ChaosInconsistencyException(
+                    "Chaos mode injected failure after origin update (partial commit simulation)");
+        }
+    }
+
     private boolean shouldInjectFailureAfterOriginUpdate() {
         if (!chaosEnabled || chaosFailAfterOriginUpdateProbability <= 0) {
             return false;
@@ -110,4 +707,137 @@ public class TransferService {
 
         return ThreadLocalRandom.current().nextDouble() < chaosFailAfterOriginUpdateProbability;
     }
+
+    private record AttemptOutcome(Long transferId, ChaosInconsistencyException chaosFailure) {
+    }
+
+    private final class ChunkResults {
+
+        private final List<TransferRequest> chunk;
+        private final int offset;
+        private final Map<String, IdempotencyService.CommittedTransfer> committedKeys;
+        private final Map<String, TransferTransaction> pendingByKey = new HashMap<>();
+        private final List<TransferResult> results;
+        private final TransferTransaction[] transactions;
+        private final boolean[] replayed;
+        private final List<TransferTransaction> pending;
+
+        private ChunkResults(List<TransferRequest> chunk, int offset, boolean verifyKeys) {
+            this.chunk = chunk;
+            this.offset = offset;
+            this.results = new ArrayList<>(chunk.size());
+            this.transactions = new TransferTransaction[chunk.size()];
+            this.replayed = new boolean[chunk.size()];
+            this.pending = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                results.add(null);
+            }
+
+            Set<String> keys = new LinkedHashSet<>();
+            for (TransferRequest request : chunk) {
+                String key = idempotencyKeyOf(request);
+                if (key != null) {
+                    keys.add(key);
+                }
+            }
+            this.committedKeys = keys.isEmpty() ? Map.of() : idempotencyService.findCommitted(keys, verifyKeys);
+        }
+
+        private void reject(int index, TransferOutcome outcome, String message) {
+            results.set(index, TransferResult.rejected(offset + index, outcome, message));
+        }
+
+        private boolean replay(int index) {
+            TransferRequest request = chunk.get(index);
+            String key = IdempotencyService.normalize(request.idempotencyKey());
+            if (key == null) {
+                return false;
+            }
+
+            IdempotencyService.CommittedTransfer committed = committedKeys.get(key);
+            if (committed != null) {
+                if (!committed.matches(request)) {
+                    reject(index, TransferOutcome.INVALID, IDEMPOTENCY_KEY_REUSED);
+                } else if (committed.partial()) {
+                    reject(index, TransferOutcome.FAILED, IDEMPOTENCY_KEY_PARTIAL);
+                } else {
+                    results.set(index, TransferResult.replayed(offset + index, committed.transferId()));
+                }
+                return true;
+            }
+
+            TransferTransaction earlier = pendingByKey.get(key);
+            if (earlier == null) {
+                return false;
+            }
+
+            if (IdempotencyService.CommittedTransfer.of(earlier).matches(request)) {
+                transactions[index] = earlier;
+                replayed[index] = true;
+            } else {
+                reject(index, TransferOutcome.INVALID, IDEMPOTENCY_KEY_REUSED);
+            }
+            return true;
+        }
+
+        private void accept(int index, LocalDateTime occurredAt) {
+            TransferRequest request = chunk.get(index);
+            String key = IdempotencyService.normalize(request.idempotencyKey());
+            TransferTransaction transaction = newTransaction(
+                    request.originAccountId(),
+                    request.destinationAccountId(),
+                    request.amount(),
+                    request.category(),
+                    occurredAt);
+            transactions[index] = transaction;
+            pending.add(transaction);
+            if (key != null) {
+                pendingByKey.put(key, transaction);
+            }
+        }
+
+        private List<TransferTransaction> pending() {
+            return pending;
+        }
+
+        private Map<String, TransferTransaction> pendingByKey() {
+            return pendingByKey;
+        }
+
+        private List<TransferResult> complete() {
+            for (int i = 0; i < results.size(); i++) {
+                if (results.get(i) == null) {
+                    Long transferId = transactions[i].getId();
+                    results.set(i, replayed[i]
+                            ? TransferResult.replayed(offset + i, transferId)
+                            : TransferResult.committed(offset + i, transferId));
+                }
+            }
+            return results;
+        }
+
+        private String idempotencyKeyOf(TransferRequest request) {
+            if (request == null) {
+                return null;
+            }
+
+            try {
+                return IdempotencyService.normalize(request.idempotencyKey());
+            } catch (IllegalArgumentException ex) {
+                return null;
+            }
+        }
+    }
+
+    public record TransferStats(
+            TransferConcurrencyStrategy strategy,
+            long committedTransfers,
+            long replayedTransfers,
+            long abortedAttempts,
+            long rejectedTransfers,
+            long failedTransfers,
+            double abortRate,
+            double throughputPerSecond,
+            double averageCommitLatencyMs) {
+    }
 }
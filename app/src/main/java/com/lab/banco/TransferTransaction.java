@@ -1,6 +1,5 @@
 package com.lab.banco;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -9,6 +8,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 @Entity
@@ -16,7 +16,8 @@ import jakarta.persistence.Table;
 public class TransferTransaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transfer_transactions_seq")
+    @SequenceGenerator(name = "transfer_transactions_seq", sequenceName = "transfer_transactions_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -26,7 +27,7 @@ public class TransferTransaction {
     private Long destinationAccountId;
 
     @Column(nullable = false, precision = 19, scale = 2)
-    private BigDecimal amount;
+    private Money amount;
 
     @Column(nullable = false)
     private LocalDateTime occurredAt;
@@ -35,6 +36,10 @@ public class TransferTransaction {
     @Column
     private TransferCategory category;
 
+    @Column(insertable = false, updatable = false,
+            columnDefinition = "bigint default (pg_current_xact_id()::text::bigint)")
+    private Long txId;
+
     public Long getId() {
         return id;
     }
@@ -59,11 +64,11 @@ public class TransferTransaction {
         this.destinationAccountId = destinationAccountId;
     }
 
-    public BigDecimal getAmount() {
+    public Money getAmount() {
         return amount;
     }
 
-    public void setAmount(BigDecimal amount) {
+    public void setAmount(Money amount) {
         this.amount = amount;
     }
 
@@ -82,4 +87,8 @@ public class TransferTransaction {
     public void setCategory(TransferCategory category) {
         this.category = category;
     }
+
+    public Long getTxId() {
+        return txId;
+    }
 }
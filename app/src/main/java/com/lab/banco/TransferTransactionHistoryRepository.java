@@ -0,0 +1,8 @@
+package com.lab.banco;
+
+import java.util.List;
+
+public interface TransferTransactionHistoryRepository {
+
+    List<TransferTransaction> findHistoryPage(TransferHistoryQuery query, TransferCursor after, int limit);
+}
@@ -0,0 +1,96 @@
+package com.lab.banco;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.springframework.transaction.annotation.Transactional;
+
+class TransferTransactionHistoryRepositoryImpl implements TransferTransactionHistoryRepository {
+
+    private static final Comparator<TransferTransaction> NEWEST_FIRST = Comparator
+            .comparing(TransferTransaction::getOccurredAt)
+            .thenComparing(TransferTransaction::getId)
+            .reversed();
+
+    private final EntityManager entityManager;
+
+    TransferTransactionHistoryRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TransferTransaction> findHistoryPage(TransferHistoryQuery query, TransferCursor after, int limit) {
+        if (query.accountId() == null) {
+            return seek(query, null, after, limit);
+        }
+
+        List<TransferTransaction> merged = new ArrayList<>(seek(query, "t.originAccountId = :accountId", after, limit));
+        merged.addAll(seek(
+                query,
+                "t.destinationAccountId = :accountId and t.originAccountId <> :accountId",
+                after,
+                limit));
+        merged.sort(NEWEST_FIRST);
+        return merged.size() > limit ? new ArrayList<>(merged.subList(0, limit)) : merged;
+    }
+
+    private List<TransferTransaction> seek(
+            TransferHistoryQuery query,
+            String accountPredicate,
+            TransferCursor after,
+            int limit) {
+        List<String> predicates = new ArrayList<>();
+        Map<String, Object> parameters = new HashMap<>();
+
+        if (accountPredicate != null) {
+            predicates.add(accountPredicate);
+            parameters.put("accountId", query.accountId());
+        }
+
+        if (query.category() != null) {
+            predicates.add("t.category = :category");
+            parameters.put("category", query.category());
+        }
+
+        if (query.from() != null) {
+            predicates.add("t.occurredAt >= :from");
+            parameters.put("from", query.from());
+        }
+
+        if (query.to() != null) {
+            predicates.add("t.occurredAt < :to");
+            parameters.put("to", query.to());
+        }
+
+        if (query.minAmount() != null) {
+            predicates.add("t.amount >= :minAmount");
+            parameters.put("minAmount", query.minAmount());
+        }
+
+        if (query.maxAmount() != null) {
+            predicates.add("t.amount <= :maxAmount");
+            parameters.put("maxAmount", query.maxAmount());
+        }
+
+        if (after != null) {
+            predicates.add("(t.occurredAt, t.id) < (:cursorOccurredAt, :cursorId)");
+            parameters.put("cursorOccurredAt", after.occurredAt());
+            parameters.put("cursorId", after.id());
+        }
+
+        StringBuilder jpql = new StringBuilder("select t from TransferTransaction t");
+        if (!predicates.isEmpty()) {
+            jpql.append(" where ").append(String.join(" and ", predicates));
+        }
+        jpql.append(" order by t.occurredAt desc, t.id desc");
+
+        TypedQuery<TransferTransaction> typedQuery = entityManager.createQuery(jpql.toString(), TransferTransaction.class);
+        parameters.forEach(typedQuery::setParameter);
+        return typedQuery.setMaxResults(limit).getResultList();
+    }
+}
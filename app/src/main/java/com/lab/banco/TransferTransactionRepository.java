@@ -1,26 +1,43 @@
 package com.lab.banco;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-public interface TransferTransactionRepository extends JpaRepository<TransferTransaction, Long> {
+public interface TransferTransactionRepository
+        extends JpaRepository<TransferTransaction, Long>, TransferTransactionHistoryRepository {
 
-    List<TransferTransaction> findTop50ByOrderByOccurredAtDesc();
-    List<TransferTransaction> findTop50ByCategoryOrderByOccurredAtDesc(TransferCategory category);
+    @Query("select t from TransferTransaction t where t.txId >= :fromTxId")
+    List<TransferTransaction> findCommittedSince(@Param("fromTxId") long fromTxId);
+
+    @Query(value = "SELECT CAST(CAST(pg_snapshot_xmin(pg_current_snapshot()) AS text) AS bigint)", nativeQuery = true)
+    long currentSnapshotXmin();
 
     @Query("select coalesce(max(t.id), 0) from TransferTransaction t")
     long findMaxId();
 
-    @Query("select coalesce(sum(t.amount), 0) from TransferTransaction t "
-            + "where t.originAccountId = :accountId and t.id > :fromId")
-    BigDecimal sumOutgoingSince(@Param("accountId") Long accountId, @Param("fromId") Long fromId);
+    @Query(value = """
+            SELECT COALESCE(SUM(t.amount), 0)
+            FROM transfer_transactions t
+            WHERE t.origin_account_id = :accountId AND t.id > :fromId AND t.occurred_at >= :fromOccurredAt
+            """, nativeQuery = true)
+    BigDecimal sumOutgoingSince(
+            @Param("accountId") Long accountId,
+            @Param("fromId") Long fromId,
+            @Param("fromOccurredAt") LocalDateTime fromOccurredAt);
 
-    @Query("select coalesce(sum(t.amount), 0) from TransferTransaction t "
-            + "where t.destinationAccountId = :accountId and t.id > :fromId")
-    BigDecimal sumIncomingSince(@Param("accountId") Long accountId, @Param("fromId") Long fromId);
+    @Query(value = """
+            SELECT COALESCE(SUM(t.amount), 0)
+            FROM transfer_transactions t
+            WHERE t.destination_account_id = :accountId AND t.id > :fromId AND t.occurred_at >= :fromOccurredAt
+            """, nativeQuery = true)
+    BigDecimal sumIncomingSince(
+            @Param("accountId") Long accountId,
+            @Param("fromId") Long fromId,
+            @Param("fromOccurredAt") LocalDateTime fromOccurredAt);
 
     @Query("select count(t) from TransferTransaction t where t.originAccountId = t.destinationAccountId")
     long countSelfTransfers();
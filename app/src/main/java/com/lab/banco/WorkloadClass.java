@@ -0,0 +1,7 @@
+package com.lab.banco;
+
+public enum WorkloadClass {
+    TRANSFER_WRITE,
+    TRANSFER_BATCH,
+    TRANSFER_READ
+}
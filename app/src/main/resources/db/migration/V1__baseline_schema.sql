@@ -0,0 +1,147 @@
+CREATE SEQUENCE IF NOT EXISTS accounts_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS account_balance_slots_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS ledger_entries_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS transfer_outbox_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS transfer_transactions_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS accounts (
+    id bigint NOT NULL,
+    name varchar(255) NOT NULL,
+    balance numeric(19, 2) NOT NULL,
+    striped boolean DEFAULT false NOT NULL,
+    version bigint DEFAULT 0 NOT NULL,
+    PRIMARY KEY (id)
+);
+
+ALTER TABLE accounts ADD COLUMN IF NOT EXISTS striped boolean DEFAULT false NOT NULL;
+ALTER TABLE accounts ADD COLUMN IF NOT EXISTS version bigint DEFAULT 0 NOT NULL;
+
+CREATE TABLE IF NOT EXISTS account_balance_slots (
+    id bigint NOT NULL,
+    account_id bigint NOT NULL,
+    slot integer NOT NULL,
+    balance numeric(19, 2) NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE (account_id, slot)
+);
+
+CREATE TABLE IF NOT EXISTS account_transfer_totals (
+    account_id bigint NOT NULL,
+    total_in numeric(19, 2) NOT NULL,
+    total_out numeric(19, 2) NOT NULL,
+    transfer_count bigint NOT NULL,
+    last_transfer_id bigint NOT NULL,
+    updated_at timestamp(6) NOT NULL,
+    PRIMARY KEY (account_id)
+);
+
+CREATE TABLE IF NOT EXISTS ledger_entries (
+    id bigint NOT NULL,
+    transfer_id bigint NOT NULL,
+    account_id bigint NOT NULL,
+    amount numeric(19, 2) NOT NULL,
+    tx_id bigint DEFAULT (pg_current_xact_id()::text::bigint) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_ledger_entries_account_tx_id ON ledger_entries (account_id, tx_id);
+CREATE INDEX IF NOT EXISTS idx_ledger_entries_tx_id ON ledger_entries (tx_id);
+CREATE INDEX IF NOT EXISTS idx_ledger_entries_transfer_id ON ledger_entries (transfer_id);
+
+CREATE TABLE IF NOT EXISTS ledger_snapshots (
+    account_id bigint NOT NULL,
+    balance numeric(19, 2) NOT NULL,
+    horizon_tx_id bigint NOT NULL,
+    compacted_at timestamp(6) NOT NULL,
+    PRIMARY KEY (account_id)
+);
+
+CREATE TABLE IF NOT EXISTS transfer_outbox (
+    id bigint NOT NULL,
+    transfer_id bigint NOT NULL,
+    event_type varchar(255) NOT NULL,
+    payload text NOT NULL,
+    created_at timestamp(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS transfer_idempotency_keys (
+    idempotency_key varchar(128) NOT NULL,
+    transfer_id bigint NOT NULL,
+    origin_account_id bigint NOT NULL,
+    destination_account_id bigint NOT NULL,
+    amount numeric(19, 2) NOT NULL,
+    created_at timestamp(6) NOT NULL,
+    PRIMARY KEY (idempotency_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_transfer_idempotency_keys_created_at ON transfer_idempotency_keys (created_at);
+
+DO $$
+DECLARE
+    kind "char";
+BEGIN
+    SELECT c.relkind INTO kind FROM pg_class c WHERE c.oid = to_regclass('transfer_transactions');
+
+    IF kind = 'r' THEN
+        ALTER TABLE transfer_transactions RENAME TO transfer_transactions_unpartitioned;
+        ALTER TABLE transfer_transactions_unpartitioned
+            RENAME CONSTRAINT transfer_transactions_pkey TO transfer_transactions_unpartitioned_pkey;
+    END IF;
+
+    IF kind IS NULL OR kind = 'r' THEN
+        CREATE TABLE transfer_transactions (
+            id bigint NOT NULL,
+            amount numeric(19, 2) NOT NULL,
+            category varchar(255),
+            destination_account_id bigint NOT NULL,
+            occurred_at timestamp(6) NOT NULL,
+            origin_account_id bigint NOT NULL,
+            PRIMARY KEY (id, occurred_at)
+        ) PARTITION BY RANGE (occurred_at);
+    END IF;
+
+    CREATE TABLE IF NOT EXISTS transfer_transactions_default PARTITION OF transfer_transactions DEFAULT;
+
+    IF kind = 'r' THEN
+        INSERT INTO transfer_transactions
+            (id, amount, category, destination_account_id, occurred_at, origin_account_id)
+        SELECT id, amount, category, destination_account_id, occurred_at, origin_account_id
+        FROM transfer_transactions_unpartitioned;
+
+        IF EXISTS (
+            SELECT 1
+            FROM information_schema.columns
+            WHERE table_schema = current_schema()
+              AND table_name = 'transfer_transactions_unpartitioned'
+              AND column_name = 'idempotency_key'
+        ) THEN
+            EXECUTE $copy$
+                INSERT INTO transfer_idempotency_keys
+                    (idempotency_key, transfer_id, origin_account_id, destination_account_id, amount, created_at)
+                SELECT idempotency_key, id, origin_account_id, destination_account_id, amount, occurred_at
+                FROM transfer_transactions_unpartitioned
+                WHERE idempotency_key IS NOT NULL
+                ON CONFLICT DO NOTHING
+            $copy$;
+        END IF;
+
+        DROP TABLE transfer_transactions_unpartitioned;
+    END IF;
+END
+$$;
+
+CREATE INDEX IF NOT EXISTS idx_transfer_transactions_occurred_at_id
+    ON transfer_transactions (occurred_at, id);
+CREATE INDEX IF NOT EXISTS idx_transfer_transactions_category_occurred_at_id
+    ON transfer_transactions (category, occurred_at, id);
+CREATE INDEX IF NOT EXISTS idx_transfer_transactions_origin_occurred_at_id
+    ON transfer_transactions (origin_account_id, occurred_at, id);
+CREATE INDEX IF NOT EXISTS idx_transfer_transactions_destination_occurred_at_id
+    ON transfer_transactions (destination_account_id, occurred_at, id);
+
+SELECT setval('accounts_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM accounts), (SELECT last_value FROM accounts_seq)));
+SELECT setval('account_balance_slots_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM account_balance_slots), (SELECT last_value FROM account_balance_slots_seq)));
+SELECT setval('ledger_entries_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM ledger_entries), (SELECT last_value FROM ledger_entries_seq)));
+SELECT setval('transfer_outbox_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM transfer_outbox), (SELECT last_value FROM transfer_outbox_seq)));
+SELECT setval('transfer_transactions_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM transfer_transactions), (SELECT last_value FROM transfer_transactions_seq)));
@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS idx_accounts_upper_name ON accounts (upper(name));
@@ -0,0 +1,3 @@
+ALTER TABLE account_transfer_totals ADD COLUMN IF NOT EXISTS slot integer DEFAULT 0 NOT NULL;
+ALTER TABLE account_transfer_totals DROP CONSTRAINT IF EXISTS account_transfer_totals_pkey;
+ALTER TABLE account_transfer_totals ADD PRIMARY KEY (account_id, slot);
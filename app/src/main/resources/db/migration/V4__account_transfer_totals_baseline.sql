@@ -0,0 +1,15 @@
+CREATE TABLE IF NOT EXISTS account_transfer_totals_baseline (
+    account_id bigint NOT NULL,
+    total_in numeric(19, 2) NOT NULL,
+    total_out numeric(19, 2) NOT NULL,
+    transfer_count bigint NOT NULL,
+    last_transfer_id bigint NOT NULL,
+    PRIMARY KEY (account_id)
+);
+
+CREATE TABLE IF NOT EXISTS account_transfer_totals_horizon (
+    id integer NOT NULL,
+    folded_before timestamp(6) NOT NULL,
+    PRIMARY KEY (id),
+    CHECK (id = 1)
+);
@@ -0,0 +1 @@
+ALTER TABLE transfer_idempotency_keys ALTER COLUMN transfer_id DROP NOT NULL;
@@ -0,0 +1,4 @@
+ALTER TABLE transfer_transactions ADD COLUMN IF NOT EXISTS tx_id bigint;
+ALTER TABLE transfer_transactions ALTER COLUMN tx_id SET DEFAULT (pg_current_xact_id()::text::bigint);
+
+CREATE INDEX IF NOT EXISTS idx_transfer_transactions_tx_id ON transfer_transactions (tx_id);
@@ -0,0 +1,81 @@
+package com.lab.banco;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AccountMetadataCacheTests {
+
+    private AccountRepository accountRepository;
+    private AccountMetadataCache cache;
+    private Account stored;
+
+    @BeforeEach
+    void setUp() {
+        accountRepository = mock(AccountRepository.class);
+        cache = new AccountMetadataCache(accountRepository, 100, 600_000);
+        stored = account(7L, "Joao", false);
+        when(accountRepository.findById(7L)).thenAnswer(invocation -> Optional.of(copy(stored)));
+        when(accountRepository.findByNameIgnoreCase("Joao")).thenAnswer(invocation -> Optional.of(copy(stored)));
+    }
+
+    @Test
+    void findByNameReturnsCurrentStripedFlagAfterStriping() {
+        assertThat(cache.findAccountByName("Joao")).get().extracting(Account::isStriped).isEqualTo(false);
+
+        stored.setStriped(true);
+        stored.setBalance(Money.ZERO);
+        stored.setVersion(1);
+
+        Account account = cache.findAccountByName("Joao").orElseThrow();
+        assertThat(account.isStriped()).isTrue();
+        assertThat(account.getBalance()).isEqualTo(Money.ZERO);
+        assertThat(account.getVersion()).isEqualTo(1);
+        verify(accountRepository).findByNameIgnoreCase("Joao");
+    }
+
+    @Test
+    void findByNameDropsEntryWhenAccountWasRenamed() {
+        cache.findAccountByName("Joao");
+        stored.setName("Joana");
+        when(accountRepository.findByNameIgnoreCase("Joao")).thenReturn(Optional.empty());
+        when(accountRepository.findByNameIgnoreCase("Joana")).thenAnswer(invocation -> Optional.of(copy(stored)));
+
+        assertThat(cache.findAccountByName("Joao")).isEmpty();
+        assertThat(cache.findAccountByName("Joana")).get().extracting(Account::getId).isEqualTo(7L);
+        assertThat(cache.namesById(List.of(7L))).isEqualTo(Map.of(7L, "Joana"));
+    }
+
+    @Test
+    void namesByIdServesCachedAccountsWithoutDatabase() {
+        cache.put(account(8L, "Maria", false));
+
+        assertThat(cache.namesById(List.of(8L))).isEqualTo(Map.of(8L, "Maria"));
+        verify(accountRepository, never()).findAllById(any());
+    }
+
+    private static Account account(Long id, String name, boolean striped) {
+        Account account = new Account();
+        account.setId(id);
+        account.setName(name);
+        account.setBalance(Money.ofUnits(100));
+        account.setStriped(striped);
+        return account;
+    }
+
+    private static Account copy(Account source) {
+        Account account = account(source.getId(), source.getName(), source.isStriped());
+        account.setBalance(source.getBalance());
+        account.setVersion(source.getVersion());
+        return account;
+    }
+}
@@ -0,0 +1,35 @@
+package com.lab.banco;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.Test;
+
+class MoneyConverterTests {
+
+    private final MoneyConverter converter = new MoneyConverter();
+
+    @Test
+    void roundTripsThroughNumericColumn() {
+        for (String value : new String[] {"0.00", "0.01", "-12.34", "1234567.89", "92233720368547758.07"}) {
+            Money money = Money.valueOf(value);
+            BigDecimal column = converter.convertToDatabaseColumn(money);
+
+            assertThat(column).isEqualTo(new BigDecimal(value));
+            assertThat(column.scale()).isEqualTo(Money.SCALE);
+            assertThat(converter.convertToEntityAttribute(column)).isEqualTo(money);
+        }
+    }
+
+    @Test
+    void readsColumnValuesWithDifferentScale() {
+        assertThat(converter.convertToEntityAttribute(new BigDecimal("5"))).isEqualTo(Money.ofCents(500));
+        assertThat(converter.convertToEntityAttribute(new BigDecimal("5.10"))).isEqualTo(Money.ofCents(510));
+    }
+
+    @Test
+    void mapsNullBothWays() {
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+        assertThat(converter.convertToEntityAttribute(null)).isNull();
+    }
+}
@@ -0,0 +1,119 @@
+package com.lab.banco;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+class MoneySumQueryTests {
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransferTransactionRepository transferTransactionRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private AccountBalanceSlotRepository slotRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void transferSumsSinceWatermarkAddCents() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Long origin = account("sum-origin").getId();
+            Long destination = account("sum-destination").getId();
+            LocalDateTime now = LocalDateTime.now();
+            long fromId = transferTransactionRepository.findMaxId();
+            transferTransactionRepository.saveAll(List.of(
+                    transfer(origin, destination, Money.ofCents(1_050), now),
+                    transfer(origin, destination, Money.ofCents(2_075), now),
+                    transfer(destination, origin, Money.ofCents(99), now),
+                    transfer(origin, destination, Money.ofCents(500_000), now.minusDays(1))));
+            transferTransactionRepository.flush();
+
+            LocalDateTime fromOccurredAt = now.minusHours(1);
+            assertThat(Money.of(transferTransactionRepository.sumOutgoingSince(origin, fromId, fromOccurredAt)))
+                    .isEqualTo(Money.ofCents(3_125));
+            assertThat(Money.of(transferTransactionRepository.sumIncomingSince(origin, fromId, fromOccurredAt)))
+                    .isEqualTo(Money.ofCents(99));
+            assertThat(Money.of(transferTransactionRepository.sumIncomingSince(destination, fromId, fromOccurredAt)))
+                    .isEqualTo(Money.ofCents(3_125));
+            assertThat(Money.of(transferTransactionRepository.sumOutgoingSince(origin, Long.MAX_VALUE, fromOccurredAt)))
+                    .isEqualTo(Money.ZERO);
+            status.setRollbackOnly();
+        });
+    }
+
+    @Test
+    void ledgerEntrySumAddsDebitsAndCredits() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Money before = Money.of(ledgerEntryRepository.sumAllEntries());
+            ledgerEntryRepository.saveAll(List.of(
+                    entry(-1L, 1L, Money.ofCents(-12_345)),
+                    entry(-1L, 2L, Money.ofCents(12_300))));
+            ledgerEntryRepository.flush();
+
+            assertThat(Money.of(ledgerEntryRepository.sumAllEntries())).isEqualTo(before.minus(Money.ofCents(45)));
+            status.setRollbackOnly();
+        });
+    }
+
+    @Test
+    void slotSumAddsBalances() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Long accountId = account("sum-slots").getId();
+            slotRepository.saveAll(List.of(
+                    slot(accountId, 0, Money.ofCents(101)),
+                    slot(accountId, 1, Money.ofCents(202)),
+                    slot(accountId, 2, Money.ofCents(3))));
+            slotRepository.flush();
+
+            assertThat(Money.of(slotRepository.sumBalance(accountId))).isEqualTo(Money.ofCents(306));
+            assertThat(Money.of(slotRepository.sumBalance(-1L))).isEqualTo(Money.ZERO);
+            status.setRollbackOnly();
+        });
+    }
+
+    private Account account(String name) {
+        Account account = new Account();
+        account.setName(name + "-" + System.nanoTime());
+        account.setBalance(Money.ZERO);
+        return accountRepository.save(account);
+    }
+
+    private static TransferTransaction transfer(Long origin, Long destination, Money amount, LocalDateTime at) {
+        TransferTransaction transfer = new TransferTransaction();
+        transfer.setOriginAccountId(origin);
+        transfer.setDestinationAccountId(destination);
+        transfer.setAmount(amount);
+        transfer.setOccurredAt(at);
+        transfer.setCategory(TransferCategory.MOCK);
+        return transfer;
+    }
+
+    private static LedgerEntry entry(Long transferId, Long accountId, Money amount) {
+        LedgerEntry entry = new LedgerEntry();
+        entry.setTransferId(transferId);
+        entry.setAccountId(accountId);
+        entry.setAmount(amount);
+        return entry;
+    }
+
+    private static AccountBalanceSlot slot(Long accountId, int index, Money balance) {
+        AccountBalanceSlot slot = new AccountBalanceSlot();
+        slot.setAccountId(accountId);
+        slot.setSlot(index);
+        slot.setBalance(balance);
+        return slot;
+    }
+}
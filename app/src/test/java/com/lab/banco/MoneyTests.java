@@ -0,0 +1,52 @@
+package com.lab.banco;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.Test;
+
+class MoneyTests {
+
+    @Test
+    void plusAndMinusKeepExactCents() {
+        Money amount = Money.valueOf("10.05");
+
+        assertThat(amount.plus(Money.valueOf("0.95"))).isEqualTo(Money.ofUnits(11));
+        assertThat(amount.minus(Money.valueOf("10.06"))).isEqualTo(Money.ofCents(-1));
+    }
+
+    @Test
+    void plusRejectsOverflow() {
+        assertThatThrownBy(() -> Money.ofCents(Long.MAX_VALUE).plus(Money.ofCents(1)))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void minusRejectsOverflow() {
+        assertThatThrownBy(() -> Money.ofCents(Long.MIN_VALUE).minus(Money.ofCents(1)))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void rejectsMoreThanTwoDecimalPlaces() {
+        assertThatThrownBy(() -> Money.of(new BigDecimal("1.005")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("at most 2 decimal places");
+        assertThatThrownBy(() -> Money.valueOf("0.001"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void acceptsScaleUpToTwoAndTrailingZeros() {
+        assertThat(Money.of(new BigDecimal("7"))).isEqualTo(Money.ofCents(700));
+        assertThat(Money.of(new BigDecimal("7.5"))).isEqualTo(Money.ofCents(750));
+        assertThat(Money.of(new BigDecimal("7.500"))).isEqualTo(Money.ofCents(750));
+    }
+
+    @Test
+    void rejectsAmountsBeyondLongCents() {
+        assertThatThrownBy(() -> Money.of(new BigDecimal("92233720368547758.08")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
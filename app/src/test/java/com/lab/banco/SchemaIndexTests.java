@@ -0,0 +1,98 @@
+package com.lab.banco;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+class SchemaIndexTests {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void accountLookupByNameUsesExpressionIndex() {
+        assertUsesIndex(
+                "SELECT a.id FROM accounts a WHERE upper(a.name) = upper('Joao')",
+                "idx_accounts_upper_name");
+    }
+
+    @Test
+    void outgoingSumSinceWatermarkUsesOriginIndex() {
+        assertUsesIndex("""
+                SELECT coalesce(sum(t.amount), 0)
+                FROM transfer_transactions t
+                WHERE t.origin_account_id = 2 AND t.id > 100 AND t.occurred_at >= date_trunc('month', localtimestamp)
+                """, "idx_transfer_transactions_origin_occurred_at_id");
+    }
+
+    @Test
+    void incomingSumSinceWatermarkUsesDestinationIndex() {
+        assertUsesIndex("""
+                SELECT coalesce(sum(t.amount), 0)
+                FROM transfer_transactions t
+                WHERE t.destination_account_id = 3 AND t.id > 100 AND t.occurred_at >= date_trunc('month', localtimestamp)
+                """, "idx_transfer_transactions_destination_occurred_at_id");
+    }
+
+    @Test
+    void categoryHistoryPageUsesCategoryIndex() {
+        assertUsesIndex("""
+                SELECT t.id
+                FROM transfer_transactions t
+                WHERE t.category = 'MOCK'
+                ORDER BY t.occurred_at DESC, t.id DESC
+                LIMIT 50
+                """, "idx_transfer_transactions_category_occurred_at_id");
+    }
+
+    @Test
+    void accountHistoryPageUsesOriginIndex() {
+        assertUsesIndex("""
+                SELECT t.id
+                FROM transfer_transactions t
+                WHERE t.origin_account_id = 2
+                  AND (t.occurred_at, t.id) < (localtimestamp, 1000000)
+                ORDER BY t.occurred_at DESC, t.id DESC
+                LIMIT 50
+                """, "idx_transfer_transactions_origin_occurred_at_id");
+    }
+
+    @Test
+    void commitHorizonScanUsesTxIdIndex() {
+        assertUsesIndex("""
+                SELECT t.id
+                FROM transfer_transactions t
+                WHERE t.tx_id >= CAST(CAST(pg_snapshot_xmin(pg_current_snapshot()) AS text) AS bigint)
+                """, "idx_transfer_transactions_tx_id");
+    }
+
+    private void assertUsesIndex(String sql, String index) {
+        Set<String> names = new HashSet<>(jdbcTemplate.queryForList("""
+                SELECT c.relname
+                FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = to_regclass(?)
+                """, String.class, index));
+        names.add(index);
+
+        List<String> plan = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            return jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+        });
+
+        String text = String.join("\n", plan);
+        assertThat(text).doesNotContain("Seq Scan");
+        assertThat(names).anySatisfy(name -> assertThat(text).containsPattern("(using|on) " + name + "\\b"));
+    }
+}
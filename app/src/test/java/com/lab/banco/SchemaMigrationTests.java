@@ -0,0 +1,124 @@
+package com.lab.banco;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+import java.util.HashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.ManagedType;
+import org.flywaydb.core.Flyway;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@SpringBootTest
+class SchemaMigrationTests {
+
+    private static final String SCHEMA = "migration_test";
+
+    @Autowired
+    @Qualifier("writerDataSource")
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void createOriginalSchema() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        jdbcTemplate.execute("CREATE SCHEMA " + SCHEMA);
+        jdbcTemplate.execute("""
+                CREATE TABLE migration_test.accounts (
+                    id bigint GENERATED BY DEFAULT AS IDENTITY,
+                    balance numeric(19, 2) NOT NULL,
+                    name varchar(255) NOT NULL,
+                    PRIMARY KEY (id)
+                )
+                """);
+        jdbcTemplate.execute("""
+                CREATE TABLE migration_test.transfer_transactions (
+                    id bigint GENERATED BY DEFAULT AS IDENTITY,
+                    amount numeric(19, 2) NOT NULL,
+                    category varchar(255) CHECK (category IN ('MOCK', 'REBALANCE')),
+                    destination_account_id bigint NOT NULL,
+                    occurred_at timestamp(6) NOT NULL,
+                    origin_account_id bigint NOT NULL,
+                    PRIMARY KEY (id)
+                )
+                """);
+        jdbcTemplate.execute("INSERT INTO migration_test.accounts (balance, name) VALUES (900, 'Joao'), (1100, 'Maria')");
+        jdbcTemplate.execute("""
+                INSERT INTO migration_test.transfer_transactions
+                    (amount, category, destination_account_id, occurred_at, origin_account_id)
+                VALUES (100, 'MOCK', 2, localtimestamp - interval '400 days', 1),
+                       (50, NULL, 1, localtimestamp, 2)
+                """);
+    }
+
+    @AfterEach
+    void dropSchema() {
+        jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+    }
+
+    @Test
+    void migratesOriginalSchemaToCurrentEntityModel() {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .schemas(SCHEMA)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()
+                .migrate();
+
+        assertThatCode(this::validateEntityModel).doesNotThrowAnyException();
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT striped, version FROM migration_test.accounts ORDER BY id"))
+                .containsExactly(
+                        Map.of("striped", false, "version", 0L),
+                        Map.of("striped", false, "version", 0L));
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT c.relkind::text FROM pg_class c WHERE c.oid = 'migration_test.transfer_transactions'::regclass",
+                String.class)).isEqualTo("p");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM migration_test.transfer_transactions", Long.class)).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT nextval('migration_test.accounts_seq')", Long.class)).isGreaterThan(2);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT nextval('migration_test.transfer_transactions_seq')", Long.class)).isGreaterThan(2);
+    }
+
+    private void validateEntityModel() {
+        Map<String, Object> settings = new HashMap<>(entityManagerFactory.getProperties());
+        settings.keySet().removeIf(key -> key.startsWith("jakarta.persistence") || key.startsWith("javax.persistence"));
+        settings.put(AvailableSettings.DATASOURCE, dataSource);
+        settings.put(AvailableSettings.DEFAULT_SCHEMA, SCHEMA);
+        settings.put(AvailableSettings.HBM2DDL_AUTO, "validate");
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder().applySettings(settings).build();
+        try {
+            MetadataSources sources = new MetadataSources(registry);
+            sources.addAnnotatedClass(MoneyConverter.class);
+            for (ManagedType<?> type : entityManagerFactory.getMetamodel().getManagedTypes()) {
+                sources.addAnnotatedClass(type.getJavaType());
+            }
+            Metadata metadata = sources.buildMetadata();
+            metadata.buildSessionFactory().close();
+        } finally {
+            StandardServiceRegistryBuilder.destroy(registry);
+        }
+    }
+}